@@ -0,0 +1,206 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop HTTP load generator: each client thread sends requests to the
+ * given paths in turn, waiting for every response before the next request.
+ * Prints p50/p90/p99/max latency and throughput per path after a warmup.
+ * <p>
+ * Run with {@code java benchmark/LoadBenchmark.java [options]}:
+ * <pre>
+ *   --url          base URL (http://localhost:8080/api)
+ *   --paths        comma-separated paths (/products,/raw-materials,/production/simulation)
+ *   --concurrency  client threads (200)
+ *   --warmup       warmup seconds, not measured (10)
+ *   --duration     measured seconds (30)
+ *   --label        name printed in the summary line (run)
+ * </pre>
+ */
+public class LoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "url", "http://localhost:8080/api",
+                "paths", "/products,/raw-materials,/production/simulation",
+                "concurrency", "200",
+                "warmup", "10",
+                "duration", "30",
+                "label", "run"));
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--") || !options.containsKey(args[i].substring(2))) {
+                throw new IllegalArgumentException("Opcao desconhecida: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        String[] paths = options.get("paths").split(",");
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        long warmupMillis = Long.parseLong(options.get("warmup")) * 1000;
+        long durationMillis = Long.parseLong(options.get("duration")) * 1000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : paths) {
+            requests.add(HttpRequest.newBuilder(URI.create(options.get("url") + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build());
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupMillis * 1_000_000;
+        long measureTo = measureFrom + durationMillis * 1_000_000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        Client[] clients = new Client[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            Client worker = new Client(client, requests, c, measureFrom, measureTo, running, done);
+            clients[c] = worker;
+            Thread thread = new Thread(worker, "load-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        Thread.sleep(Math.max(0, (measureTo - System.nanoTime()) / 1_000_000));
+        running.set(false);
+        done.await();
+
+        System.out.printf("%-32s %10s %10s %9s %9s %9s %9s %8s%n",
+                "path", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        double seconds = durationMillis / 1000.0;
+        long totalRequests = 0;
+        long totalErrors = 0;
+        long[] all = new long[0];
+        for (int p = 0; p < paths.length; p++) {
+            long[] latencies = merge(clients, p);
+            long errors = 0;
+            for (Client worker : clients) {
+                errors += worker.errors[p];
+            }
+            print(paths[p], latencies, errors, seconds);
+            totalRequests += latencies.length;
+            totalErrors += errors;
+            all = concat(all, latencies);
+        }
+        Arrays.sort(all);
+        print("total", all, totalErrors, seconds);
+        System.out.printf("%s: concurrency=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms errors=%d%n",
+                options.get("label"), concurrency, totalRequests / seconds,
+                millis(percentile(all, 0.50)), millis(percentile(all, 0.99)), totalErrors);
+    }
+
+    private static final class Client implements Runnable {
+        private final HttpClient client;
+        private final List<HttpRequest> requests;
+        private final long measureFrom;
+        private final long measureTo;
+        private final AtomicBoolean running;
+        private final CountDownLatch done;
+        private final LongList[] latencies;
+        private final long[] errors;
+        private int next;
+
+        Client(HttpClient client, List<HttpRequest> requests, int offset, long measureFrom, long measureTo,
+               AtomicBoolean running, CountDownLatch done) {
+            this.client = client;
+            this.requests = requests;
+            this.measureFrom = measureFrom;
+            this.measureTo = measureTo;
+            this.running = running;
+            this.done = done;
+            this.latencies = new LongList[requests.size()];
+            this.errors = new long[requests.size()];
+            for (int p = 0; p < latencies.length; p++) {
+                latencies[p] = new LongList();
+            }
+            // Spread the clients over the paths from the first request
+            this.next = offset % requests.size();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running.get()) {
+                    int p = next;
+                    next = (next + 1) % requests.size();
+                    long sent = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = client.send(requests.get(p), HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() == 200;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long received = System.nanoTime();
+                    if (sent < measureFrom || received > measureTo) {
+                        continue;
+                    }
+                    if (ok) {
+                        latencies[p].add(received - sent);
+                    } else {
+                        errors[p]++;
+                    }
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    private static long[] merge(Client[] clients, int path) {
+        long[] merged = new long[0];
+        for (Client client : clients) {
+            LongList list = client.latencies[path];
+            merged = concat(merged, Arrays.copyOf(list.values, list.size));
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static void print(String path, long[] sorted, long errors, double seconds) {
+        System.out.printf("%-32s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8d%n",
+                path, sorted.length, sorted.length / seconds,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]), errors);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Runs LoadBenchmark against the backend with the dev logging setup (DEBUG
+# levels, show-sql, synchronous console) and then with the default one (INFO,
+# bounded async console appender), on the same build.
+#
+#   benchmark/compare-logging.sh
+#
+# CONCURRENCY, WARMUP, DURATION and PORT override the defaults below. Console
+# output goes to target/benchmark-<label>.log in both runs, so the comparison
+# includes the cost of writing it. Caches are off so every request reaches the
+# database and logs its statements.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${CONCURRENCY:-50}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-30}
+PORT=${PORT:-8080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+mvn -B -q package -DskipTests
+JAR=$(ls target/inventory-production-system-*.jar | grep -v original | head -1)
+
+run() {
+    local label=$1
+    shift
+    local journal
+    journal=$(mktemp -d)
+    "$JAVA" -jar "$JAR" --server.port="$PORT" \
+        --inventory.cache.type=none \
+        --inventory.journal.directory="$journal" \
+        "$@" > "target/benchmark-$label.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:$PORT/api/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    echo "== $label"
+    "$JAVA" benchmark/LoadBenchmark.java --url "http://localhost:$PORT/api" \
+        --concurrency "$CONCURRENCY" --warmup "$WARMUP" --duration "$DURATION" --label "$label" \
+        | tee "target/benchmark-$label.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+    rm -rf "$journal"
+}
+
+run dev-logging --spring.profiles.active=dev
+run async-logging
+
+echo
+grep -h '^dev-logging:\|^async-logging:' target/benchmark-dev-logging.txt target/benchmark-async-logging.txt
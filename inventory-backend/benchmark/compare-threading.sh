@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Runs LoadBenchmark against the backend with platform request threads and then
+# with virtual threads (Spring profile virtual-threads), on the same Java 21 build.
+#
+#   JAVA_HOME=/path/to/jdk-21 benchmark/compare-threading.sh
+#
+# CONCURRENCY, WARMUP, DURATION and PORT override the defaults below. Caches are
+# off so every request reaches the database, and logging is kept at INFO.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${CONCURRENCY:-400}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-30}
+PORT=${PORT:-8080}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+if ! "$JAVA" -version 2>&1 | grep -qE 'version "(2[1-9]|[3-9][0-9])'; then
+    echo "Virtual threads require Java 21 or newer; set JAVA_HOME" >&2
+    exit 1
+fi
+
+mvn -B -q -Pjava21 package -DskipTests
+JAR=$(ls target/inventory-production-system-*.jar | grep -v original | head -1)
+
+run() {
+    local label=$1
+    shift
+    local journal
+    journal=$(mktemp -d)
+    "$JAVA" -jar "$JAR" --server.port="$PORT" \
+        --inventory.cache.type=none \
+        --inventory.journal.directory="$journal" \
+        --spring.jpa.show-sql=false \
+        --logging.level.root=INFO \
+        --logging.level.com.inventory=INFO \
+        --logging.level.org.springframework.web=INFO \
+        --logging.level.org.hibernate.SQL=INFO \
+        "$@" > "target/benchmark-$label.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:$PORT/api/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    echo "== $label"
+    "$JAVA" benchmark/LoadBenchmark.java --url "http://localhost:$PORT/api" \
+        --concurrency "$CONCURRENCY" --warmup "$WARMUP" --duration "$DURATION" --label "$label" \
+        | tee "target/benchmark-$label.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+    rm -rf "$journal"
+}
+
+run platform
+run virtual --spring.profiles.active=virtual-threads
+
+echo
+grep -h '^platform:\|^virtual:' target/benchmark-platform.txt target/benchmark-virtual.txt
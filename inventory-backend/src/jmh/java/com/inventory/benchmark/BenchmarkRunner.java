@@ -0,0 +1,29 @@
+package com.inventory.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of {@code benchmarks.jar}: the standard JMH command line, with the
+ * GC profiler always on so every result reports its allocation rate
+ * ({@code gc.alloc.rate.norm} is bytes per operation).
+ * <p>
+ * {@code java -jar target/benchmarks.jar -p products=100000 -p fanOut=16 SimulationBenchmark}
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.inventory.benchmark;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.entity.Product;
+import com.inventory.entity.ProductRawMaterial;
+import com.inventory.entity.RawMaterial;
+import com.inventory.service.BomExplosion;
+import com.inventory.service.BomIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic catalog shared by the benchmarks: {@code products} products,
+ * {@code materials} raw materials and {@code fanOut} distinct materials in the
+ * recipe of each product. Generated from a fixed seed, so every fork and every
+ * run sees the same catalog. Prices repeat, so the price order has ties; about
+ * one material in ten is out of stock, so some products are not producible.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    private static final long SEED = 42;
+
+    @Param({"10000", "100000"})
+    public int products;
+
+    @Param({"1000"})
+    public int materials;
+
+    @Param({"4", "16"})
+    public int fanOut;
+
+    List<Product> productEntities;
+    List<RawMaterial> materialEntities;
+    List<ProductRawMaterial> recipeEntities;
+
+    // The same catalog as the rows BomIndexService reads
+    List<Object[]> productRows;
+    List<Object[]> materialRows;
+    List<Object[]> recipeRows;
+
+    BomIndex index;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        if (fanOut > materials) {
+            throw new IllegalArgumentException("fanOut nao pode exceder materials");
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        materialEntities = new ArrayList<>(materials);
+        materialRows = new ArrayList<>(materials);
+        for (int m = 0; m < materials; m++) {
+            long id = m + 1;
+            int stock = random.nextInt(10) == 0 ? 0 : random.nextInt(1, 100_000);
+            // Derived from the id, so the random sequence and the rest of the catalog are unchanged
+            BigDecimal unitCost = BigDecimal.valueOf(id * 7919 % 10_000 + 1, 2);
+            materialEntities.add(RawMaterial.builder().id(id).name("Material " + id).stockQuantity(stock)
+                    .unitCost(unitCost).version(0L).build());
+            materialRows.add(new Object[]{id, "Material " + id, stock, 0L, unitCost});
+        }
+
+        productEntities = new ArrayList<>(products);
+        productRows = new ArrayList<>(products);
+        recipeEntities = new ArrayList<>(products * fanOut);
+        recipeRows = new ArrayList<>(products * fanOut);
+        long lineId = 1;
+        for (int p = 0; p < products; p++) {
+            long id = p + 1;
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(100, 100_000), 2);
+            Product product = Product.builder().id(id).name("Product " + id).price(price).build();
+            productEntities.add(product);
+            productRows.add(new Object[]{id, product.getName(), price});
+
+            // Distinct materials: a partial Fisher-Yates draw over a window of the material ids
+            int base = random.nextInt(materials);
+            int[] picked = new int[fanOut];
+            for (int i = 0; i < fanOut; i++) {
+                picked[i] = i;
+            }
+            for (int i = fanOut; i < Math.min(materials, fanOut * 4); i++) {
+                int j = random.nextInt(i + 1);
+                if (j < fanOut) {
+                    picked[j] = i;
+                }
+            }
+            for (int offset : picked) {
+                RawMaterial material = materialEntities.get((base + offset) % materials);
+                int quantity = random.nextInt(1, 50);
+                recipeEntities.add(ProductRawMaterial.builder().id(lineId++).product(product).rawMaterial(material)
+                        .quantity(quantity).build());
+                recipeRows.add(new Object[]{id, material.getId(), quantity});
+            }
+        }
+
+        index = compileIndex();
+    }
+
+    /**
+     * Builds the index the way {@code BomIndexService} does, without sub-assemblies.
+     */
+    BomIndex compileIndex() {
+        List<Long> productIds = new ArrayList<>(productRows.size());
+        for (Object[] row : productRows) {
+            productIds.add((Long) row[0]);
+        }
+        Map<Long, BomExplosion.Recipe> recipes = new BomExplosion().explode(productIds, recipeRows, List.of());
+        return BomIndex.compile(productRows, materialRows, recipes,
+                new InventoryProperties().getDashboard().getLowStockThreshold());
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.benchmark;
+
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductRawMaterialDTO;
+import com.inventory.dto.RawMaterialDTO;
+import com.inventory.mapper.ProductMapper;
+import com.inventory.mapper.ProductRawMaterialMapper;
+import com.inventory.mapper.RawMaterialMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO list conversions of the mappers, over every product, material
+ * and recipe line of the {@link CatalogState} catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final RawMaterialMapper rawMaterialMapper = new RawMaterialMapper();
+    private final ProductRawMaterialMapper productRawMaterialMapper = new ProductRawMaterialMapper();
+
+    @Benchmark
+    public List<ProductDTO> products(CatalogState catalog) {
+        return productMapper.toDTOList(catalog.productEntities);
+    }
+
+    @Benchmark
+    public List<RawMaterialDTO> rawMaterials(CatalogState catalog) {
+        return rawMaterialMapper.toDTOList(catalog.materialEntities);
+    }
+
+    @Benchmark
+    public List<ProductRawMaterialDTO> productRawMaterials(CatalogState catalog) {
+        return productRawMaterialMapper.toDTOList(catalog.recipeEntities);
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventory.benchmark;
+
+import com.inventory.dto.ProductionSimulationDTO;
+import com.inventory.service.BomIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the simulation's result order (price descending, then id). The index
+ * pays it once per build in {@link BomIndex#compile}; {@link #sortResults} is
+ * the per-request sort it replaced, over the same number of results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultOrderBenchmark {
+
+    private static final Comparator<ProductionSimulationDTO> RESULT_ORDER =
+            Comparator.comparing(ProductionSimulationDTO::getPrice).reversed()
+                    .thenComparing(ProductionSimulationDTO::getProductId);
+
+    private List<ProductionSimulationDTO> shuffled;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogState catalog) {
+        shuffled = new ArrayList<>(catalog.productRows.size());
+        for (Object[] row : catalog.productRows) {
+            BigDecimal price = (BigDecimal) row[2];
+            shuffled.add(new ProductionSimulationDTO((Long) row[0], (String) row[1], price, 1, price));
+        }
+        Collections.shuffle(shuffled, new Random(7));
+    }
+
+    @Benchmark
+    public BomIndex compileIndex(CatalogState catalog) {
+        return catalog.compileIndex();
+    }
+
+    @Benchmark
+    public List<ProductionSimulationDTO> sortResults() {
+        List<ProductionSimulationDTO> results = new ArrayList<>(shuffled);
+        results.sort(RESULT_ORDER);
+        return results;
+    }
+}
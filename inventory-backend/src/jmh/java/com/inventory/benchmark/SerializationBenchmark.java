@@ -0,0 +1,61 @@
+package com.inventory.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductionSimulationDTO;
+import com.inventory.service.BomIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the simulation result list, with an object mapper
+ * configured like the one Spring MVC writes responses with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<ProductionSimulationDTO> results;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogState catalog) {
+        BomIndex index = catalog.index;
+        results = new ArrayList<>();
+        for (int rank = 0; rank < index.productCount(); rank++) {
+            int p = index.productByPrice(rank);
+            int quantity = index.producible(p);
+            if (quantity > 0) {
+                BigDecimal price = index.productPrice(p);
+                results.add(new ProductionSimulationDTO(index.productId(p), index.productName(p), price, quantity,
+                        price.multiply(BigDecimal.valueOf(quantity))));
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] simulationResults() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(results);
+    }
+}
@@ -0,0 +1,90 @@
+package com.inventory.benchmark;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductionSimulationDTO;
+import com.inventory.service.BomIndex;
+import com.inventory.service.BomIndexService;
+import com.inventory.service.ProductionSimulationService;
+import com.inventory.service.SimulationEngine;
+import com.inventory.service.SimulationMetrics;
+import com.inventory.service.SimulationMode;
+import com.inventory.service.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full simulation through {@link ProductionSimulationService#simulate}, per mode,
+ * over an index that is already built. The service runs without a database:
+ * the index comes from {@link CatalogState}, the ledger is off and caching is a
+ * no-op, so every invocation computes the whole result list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"MATERIALIZED", "SEQUENTIAL", "PARALLEL"})
+    public SimulationMode mode;
+
+    private SimulationEngine simulationEngine;
+    private ProductionSimulationService simulationService;
+
+    // Serves a fixed index instead of building one from the repositories
+    private static final class FixedIndexService extends BomIndexService {
+        private final BomIndex index;
+
+        FixedIndexService(BomIndex index) {
+            super(null, null, null, null, null, new InventoryProperties(), null);
+            this.index = index;
+        }
+
+        @Override
+        public BomIndex getIndex() {
+            return index;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogState catalog) {
+        InventoryProperties properties = new InventoryProperties();
+        simulationEngine = new SimulationEngine(properties);
+        StockLedger ledger = new StockLedger(properties, null, null, null, null, null, null);
+        simulationService = new ProductionSimulationService(new FixedIndexService(catalog.index), simulationEngine,
+                properties, ledger, null, new NoOpCacheManager(),
+                new SimulationMetrics(new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simulationEngine.shutdown();
+    }
+
+    @Benchmark
+    public List<ProductionSimulationDTO> simulate() {
+        return simulationService.simulate(null, 0, mode, null).getResults();
+    }
+
+    @Benchmark
+    public List<ProductionSimulationDTO> simulateFirstPage() {
+        return simulationService.simulate(50, 0, mode, null).getResults();
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventory.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Read caches of the catalog services, selected by {@code inventory.cache.type}:
+ * <ul>
+ *   <li>{@code caffeine}: in-process, size-bounded (W-TinyLFU) with the TTLs and
+ *   sizes of {@code inventory.cache.specs}, recording hit/miss/eviction stats</li>
+ *   <li>{@code local}: unbounded maps, a stand-in for a shared cache in tests</li>
+ *   <li>{@code none}: no caching</li>
+ * </ul>
+ * Everything goes through Spring's cache abstraction, so a distributed
+ * {@link CacheManager} can replace this one without touching the services.
+ * Entries are evicted by {@link com.inventory.service.CatalogCacheInvalidator}.
+ */
+@Configuration
+// Outside the transaction advice: a hit never opens a transaction and a miss is stored after commit
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT = "product";
+    public static final String RAW_MATERIALS = "raw-materials";
+    public static final String RAW_MATERIAL = "raw-material";
+    public static final String PRODUCT_RAW_MATERIALS = "product-raw-materials";
+    public static final String SIMULATION = "simulation";
+
+    public static final String[] CACHE_NAMES = {
+            PRODUCTS, PRODUCT, RAW_MATERIALS, RAW_MATERIAL, PRODUCT_RAW_MATERIALS, SIMULATION
+    };
+
+    @Bean
+    public CacheManager cacheManager(InventoryProperties properties) {
+        InventoryProperties.Cache config = properties.getCache();
+        log.info("Cache de leitura: {}", config.getType());
+        return switch (config.getType().toLowerCase()) {
+            case "none" -> new NoOpCacheManager();
+            case "local" -> new ConcurrentMapCacheManager(CACHE_NAMES);
+            case "caffeine" -> {
+                CaffeineCacheManager manager = new CaffeineCacheManager();
+                // Static set of caches: an unknown cache name fails instead of creating an unbounded one
+                manager.setCacheNames(List.of());
+                for (String name : CACHE_NAMES) {
+                    String spec = config.getSpecs().getOrDefault(name, config.getDefaultSpec());
+                    manager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+                }
+                yield manager;
+            }
+            default -> throw new IllegalStateException("Tipo de cache desconhecido: " + config.getType());
+        };
+    }
+}
@@ -22,7 +22,8 @@ public class CorsConfig {
         config.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://127.0.0.1:3000", "http://localhost:3001"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         config.setAllowedHeaders(Arrays.asList("*"));
-        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type",
+                "ETag", "Location", "Retry-After", "X-Simulation-Mode", "X-Simulation-Time-Micros"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
         
@@ -0,0 +1,29 @@
+package com.inventory.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts the entities Hibernate hydrates on the current thread. Registered
+ * through {@code hibernate.session_factory.interceptor}; the count is reset and
+ * read per request by {@link QueryBudgetInterceptor}. Projection queries load no
+ * entities and are not counted.
+ */
+public class EntityLoadCounter implements Interceptor {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        COUNT.get()[0]++;
+        return false;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
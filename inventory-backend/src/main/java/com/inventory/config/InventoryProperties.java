@@ -0,0 +1,176 @@
+package com.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory")
+public class InventoryProperties {
+
+    private Simulation simulation = new Simulation();
+    private Plan plan = new Plan();
+    private Query query = new Query();
+    private Pagination pagination = new Pagination();
+    private Imports imports = new Imports();
+    private Production production = new Production();
+    private Ledger ledger = new Ledger();
+    private Journal journal = new Journal();
+    private Cache cache = new Cache();
+    private Stream stream = new Stream();
+    private Jobs jobs = new Jobs();
+    private Dashboard dashboard = new Dashboard();
+    private Procurement procurement = new Procurement();
+
+    @Data
+    public static class Simulation {
+
+        // MATERIALIZED reads the maintained state; SEQUENTIAL/PARALLEL recompute over a snapshot
+        private String mode = "MATERIALIZED";
+
+        // Worker threads of the simulation pool, 0 = available processors
+        private int parallelism = 0;
+
+        // Catalogs smaller than this stay sequential even in PARALLEL mode
+        private int parallelThreshold = 10000;
+
+        // Upper bound of what-if scenarios accepted in one request
+        private int maxScenarios = 1000;
+    }
+
+    @Data
+    public static class Plan {
+
+        // Default and maximum time the plan optimizer may spend on one request
+        private long timeBudgetMs = 2000;
+        private long maxTimeBudgetMs = 30000;
+        private int maxIterations = 5000;
+    }
+
+    @Data
+    public static class Query {
+
+        // SQL statements a single request may issue before it is logged as over budget, 0 = off
+        private int maxStatementsPerRequest = 10;
+    }
+
+    @Data
+    public static class Pagination {
+
+        // Page size of the keyset-paginated list endpoints
+        private int defaultSize = 50;
+        private int maxSize = 1000;
+    }
+
+    @Data
+    public static class Imports {
+
+        // Rows per JDBC batch of the bulk import endpoints
+        private int batchSize = 1000;
+    }
+
+    @Data
+    public static class Production {
+
+        // Transaction attempts of a production order when it loses a lock race
+        private int maxAttempts = 3;
+
+        // Base backoff between attempts, multiplied by the attempt number and jittered
+        private long retryBackoffMs = 20;
+    }
+
+    @Data
+    public static class Ledger {
+
+        // Keep stock in the in-memory ledger and persist it write-behind
+        private boolean enabled = false;
+        private long flushIntervalMs = 200;
+
+        // Force the journal to disk before acknowledging each change instead of once per flush
+        private boolean syncOnCommit = false;
+    }
+
+    @Data
+    public static class Journal {
+
+        // Record every stock change in memory-mapped segment files under directory
+        private boolean enabled = true;
+        private String directory = "data/journal";
+
+        // Records per segment file (40 bytes each) before rolling over to a new one
+        private int segmentRecords = 1_048_576;
+        private long syncIntervalMs = 1000;
+
+        // Records between compacted snapshots; bounds the replay of a point-in-time query
+        private int snapshotIntervalRecords = 100_000;
+
+        // Newest snapshots kept; segments before the oldest one are deleted, and history starts there
+        private int retainedSnapshots = 50;
+
+        // Most buckets a stock history request may ask for
+        private int maxHistoryBuckets = 2000;
+    }
+
+    @Data
+    public static class Cache {
+
+        // caffeine, local (unbounded maps standing in for a shared cache) or none
+        private String type = "caffeine";
+
+        // Caffeine spec per cache name (size bound and TTL), defaultSpec for the others
+        private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+        private Map<String, String> specs = new HashMap<>();
+    }
+
+    @Data
+    public static class Stream {
+
+        // Writes within this window after the first one are sent as a single delta
+        private long coalesceWindowMs = 250;
+
+        // Comment line sent to idle subscribers, so dead connections are noticed
+        private long heartbeatIntervalMs = 15000;
+
+        // Subscriptions end after this long; EventSource reconnects and gets a new snapshot
+        private long timeoutMs = 1_800_000;
+
+        // Messages a slow subscriber may have waiting before it is disconnected
+        private int maxPendingMessages = 64;
+    }
+
+    @Data
+    public static class Jobs {
+
+        // Threads running simulation and plan jobs, and jobs that may wait for one
+        private int workers = 2;
+        private int queueCapacity = 16;
+
+        // How long a finished job and its result can still be read
+        private long resultTtlMs = 600_000;
+    }
+
+    @Data
+    public static class Dashboard {
+
+        // Materials with less stock than this are listed as low stock
+        private int lowStockThreshold = 10;
+
+        // Most low stock materials listed in the summary, lowest stock first
+        private int lowStockLimit = 10;
+    }
+
+    @Data
+    public static class Procurement {
+
+        // Default and maximum time a procurement recommendation may take
+        private long timeBudgetMs = 2000;
+        private long maxTimeBudgetMs = 30000;
+
+        // Most product targets accepted in one request
+        private int maxTargets = 100_000;
+    }
+}
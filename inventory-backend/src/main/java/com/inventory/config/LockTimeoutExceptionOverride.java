@@ -0,0 +1,23 @@
+package com.inventory.config;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps a connection in the pool after an H2 lock timeout. Hikari evicts a
+ * connection on any {@link java.sql.SQLTimeoutException}, but a lock timeout
+ * leaves the connection healthy; evicting it makes the rollback fail, so the
+ * production order never reaches its retry. Registered through
+ * {@code spring.datasource.hikari.exception-override-class-name}.
+ */
+public class LockTimeoutExceptionOverride implements SQLExceptionOverride {
+
+    // org.h2.api.ErrorCode.LOCK_TIMEOUT_1
+    private static final int H2_LOCK_TIMEOUT = 50200;
+
+    @java.lang.Override
+    public Override adjudicate(SQLException e) {
+        return e.getErrorCode() == H2_LOCK_TIMEOUT ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+    }
+}
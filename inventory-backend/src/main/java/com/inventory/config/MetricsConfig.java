@@ -0,0 +1,116 @@
+package com.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters on top of the ones Spring Boot binds (HTTP requests,
+ * Hikari pool, caches, Hibernate statistics): a timer per service method and a
+ * timer per response body type for JSON serialization.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps public methods of {@code @Service} beans in a
+     * {@link ServiceMetricsInterceptor}. The registry is resolved lazily: the
+     * advisor is created before the beans it advises, the registry after.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> registry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers())
+                        && method.getDeclaringClass() != Object.class
+                        && AnnotatedElementUtils.hasAnnotation(targetClass, Service.class);
+            }
+        };
+        pointcut.setClassFilter(type -> AnnotatedElementUtils.hasAnnotation(type, Service.class));
+        return new DefaultPointcutAdvisor(pointcut, new ServiceMetricsInterceptor(registry));
+    }
+
+    /**
+     * Replaces Boot's JSON converter with one that times each write as
+     * {@code inventory.http.serialization}, tagged with the declared body type.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry registry) {
+        return new TimedJacksonConverter(objectMapper, registry);
+    }
+
+    private static final class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        private final MeterRegistry registry;
+        private final Map<Type, Timer> timers = new ConcurrentHashMap<>();
+
+        TimedJacksonConverter(ObjectMapper objectMapper, MeterRegistry registry) {
+            super(objectMapper);
+            this.registry = registry;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                timerFor(type != null ? type : object.getClass())
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer timerFor(Type type) {
+            Timer timer = timers.get(type);
+            if (timer != null) {
+                return timer;
+            }
+            return timers.computeIfAbsent(type, t -> Timer.builder("inventory.http.serialization")
+                    .description("Time spent writing JSON response bodies")
+                    .tag("type", typeName(ResolvableType.forType(t)))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry));
+        }
+
+        // List<ProductionSimulationDTO> rather than the fully qualified generic signature
+        private static String typeName(ResolvableType type) {
+            Class<?> raw = type.resolve(Object.class);
+            if (!type.hasGenerics()) {
+                return raw.getSimpleName();
+            }
+            StringBuilder name = new StringBuilder(raw.getSimpleName()).append('<');
+            ResolvableType[] generics = type.getGenerics();
+            for (int i = 0; i < generics.length; i++) {
+                name.append(i > 0 ? "," : "").append(typeName(generics[i]));
+            }
+            return name.append('>').toString();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flags requests that issue more SQL statements than
+ * {@code inventory.query.max-statements-per-request}, which is how N+1 loads
+ * show up: the statement count grows with the number of rows returned. The
+ * statements and entities loaded by each request are also recorded per handler
+ * as {@code inventory.request.statements} and {@code inventory.request.entities}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final int STATEMENTS = 0;
+    private static final int ENTITIES = 1;
+
+    private final InventoryProperties properties;
+    private final MeterRegistry registry;
+
+    private final Map<Method, DistributionSummary[]> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountInspector.reset();
+        EntityLoadCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int statements = QueryCountInspector.count();
+        if (handler instanceof HandlerMethod handlerMethod) {
+            DistributionSummary[] handlerSummaries = summariesFor(handlerMethod);
+            handlerSummaries[STATEMENTS].record(statements);
+            handlerSummaries[ENTITIES].record(EntityLoadCounter.count());
+        }
+        int budget = properties.getQuery().getMaxStatementsPerRequest();
+        if (budget > 0 && statements > budget) {
+            log.warn("{} {} executou {} comandos SQL (limite {})",
+                    request.getMethod(), request.getRequestURI(), statements, budget);
+        } else {
+            log.debug("{} {} executou {} comandos SQL", request.getMethod(), request.getRequestURI(), statements);
+        }
+    }
+
+    private DistributionSummary[] summariesFor(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        DistributionSummary[] handlerSummaries = summaries.get(method);
+        if (handlerSummaries != null) {
+            return handlerSummaries;
+        }
+        String handler = handlerMethod.getBeanType().getSimpleName() + "." + method.getName();
+        return summaries.computeIfAbsent(method, m -> new DistributionSummary[]{
+                summary("inventory.request.statements", "SQL statements executed per request", handler),
+                summary("inventory.request.entities", "Entities loaded by Hibernate per request", handler)
+        });
+    }
+
+    private DistributionSummary summary(String name, String description, String handler) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(10_000.0)
+                .register(registry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.inventory.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered
+ * through {@code hibernate.session_factory.statement_inspector}; the count is
+ * reset and read per request by {@link QueryBudgetInterceptor}.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
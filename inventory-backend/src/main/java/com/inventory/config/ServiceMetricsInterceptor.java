@@ -0,0 +1,75 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call to a public method of a {@code @Service} bean as
+ * {@code inventory.service}, tagged with the class, the method and whether it
+ * returned or threw. The timers of a method are registered on its first call
+ * and looked up by {@link Method} afterwards, so a timed call allocates nothing.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    private static final int SUCCESS = 0;
+    private static final int ERROR = 1;
+
+    // Resolved on the first registration: the advisor exists before the registry does
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer[] methodTimers = timersFor(invocation);
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers[SUCCESS].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers[ERROR].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer[] timersFor(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Timer[] methodTimers = timers.get(method);
+        if (methodTimers != null) {
+            return methodTimers;
+        }
+        String className = invocation.getThis() != null
+                ? ClassUtils.getUserClass(invocation.getThis()).getSimpleName()
+                : method.getDeclaringClass().getSimpleName();
+        return timers.computeIfAbsent(method, m -> new Timer[]{
+                timer(className, m.getName(), "success"),
+                timer(className, m.getName(), "error")
+        });
+    }
+
+    private Timer timer(String className, String methodName, String outcome) {
+        return Timer.builder("inventory.service")
+                .description("Time spent in service methods")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry.getObject());
+    }
+}
@@ -0,0 +1,310 @@
+package com.inventory.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip for responses with a strong ETag, using the {@code server.compression}
+ * settings. Tomcat compresses everything else, but leaves these alone because
+ * the compressed bytes are not the representation the tag names. Here the gzip
+ * variant gets its own tag (a {@code -gzip} suffix), and the suffix is removed
+ * from {@code If-None-Match} before the controllers compare it. Every response
+ * with a strong ETag carries {@code Vary: Accept-Encoding}, including identity
+ * bodies, 304s and clients without gzip, so a shared cache keeps the variants apart.
+ */
+@Component
+@RequiredArgsConstructor
+public class StrongETagCompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP_SUFFIX = "-gzip\"";
+
+    private final ServerProperties serverProperties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !serverProperties.getCompression().getEnabled() || !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            chain.doFilter(request, new StrongETagResponse(response));
+            return;
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        boolean gzipTag = ifNoneMatch != null && ifNoneMatch.contains(GZIP_SUFFIX);
+        HttpServletRequest effectiveRequest = gzipTag
+                ? new BaseTagRequest(request, ifNoneMatch.replace(GZIP_SUFFIX, "\""))
+                : request;
+        GzipResponse gzipResponse = new GzipResponse(request, response, serverProperties.getCompression());
+        chain.doFilter(effectiveRequest, gzipResponse);
+        if (request.isAsyncStarted()) {
+            // Async bodies are written after this returns, so they are never buffered (see eligible())
+            return;
+        }
+        if (gzipTag && response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            gzipResponse.tagAsGzip();
+        }
+        gzipResponse.finish();
+    }
+
+    private static final class BaseTagRequest extends HttpServletRequestWrapper {
+
+        private final String ifNoneMatch;
+
+        BaseTagRequest(HttpServletRequest request, String ifNoneMatch) {
+            super(request);
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? ifNoneMatch : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)
+                    ? Collections.enumeration(Collections.singletonList(ifNoneMatch))
+                    : super.getHeaders(name);
+        }
+    }
+
+    /**
+     * Adds {@code Vary: Accept-Encoding} once, when the strong ETag is set, so it
+     * goes out with the headers whatever happens to the body afterwards.
+     */
+    private static class StrongETagResponse extends HttpServletResponseWrapper {
+
+        private boolean varied;
+
+        StrongETagResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value);
+            varyOn(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value);
+            varyOn(name, value);
+        }
+
+        private void varyOn(String name, String value) {
+            if (!varied && HttpHeaders.ETAG.equalsIgnoreCase(name) && value != null && !value.startsWith("W/")) {
+                varied = true;
+                super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+    }
+
+    /**
+     * Buffers the body up to the size threshold, then either compresses the
+     * rest or passes everything through unchanged.
+     */
+    private static final class GzipResponse extends StrongETagResponse {
+
+        private final HttpServletRequest request;
+        private final Compression compression;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        // Null while buffering; the container's stream when passing through
+        private OutputStream target;
+        private boolean compressing;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        GzipResponse(HttpServletRequest request, HttpServletResponse response, Compression compression) {
+            super(response);
+            this.request = request;
+            this.compression = compression;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (stream == null) {
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        GzipResponse.this.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        // Flushing while buffering would commit the headers before the decision
+                        if (target != null) {
+                            target.flush();
+                        }
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return GzipResponse.this.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        GzipResponse.this.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            // The length is unknown until the body is compressed; Tomcat counts it otherwise
+            if (!eligible()) {
+                super.setContentLengthLong(length);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (target != null) {
+                super.flushBuffer();
+            }
+        }
+
+        void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null) {
+                if (!eligible()) {
+                    passThrough();
+                } else {
+                    buffer.write(bytes, offset, length);
+                    if (buffer.size() >= compression.getMinResponseSize().toBytes()) {
+                        startCompression();
+                    }
+                    return;
+                }
+            }
+            target.write(bytes, offset, length);
+        }
+
+        /**
+         * Non-blocking writes are only allowed once the request is async, which is
+         * never compressed (see eligible()), so the body goes straight to the container.
+         */
+        void setWriteListener(WriteListener writeListener) {
+            if (compressing) {
+                throw new IllegalStateException("Escrita nao bloqueante apos o inicio da compressao");
+            }
+            try {
+                if (target == null) {
+                    passThrough();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ((ServletOutputStream) target).setWriteListener(writeListener);
+        }
+
+        // Buffered and compressed writes block; a passed-through body is the container's stream
+        boolean isReady() {
+            return !(target instanceof ServletOutputStream container) || container.isReady();
+        }
+
+        void tagAsGzip() {
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null && etag.endsWith("\"") && !etag.endsWith(GZIP_SUFFIX)) {
+                setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + GZIP_SUFFIX);
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target == null) {
+                if (buffer.size() > 0) {
+                    super.setContentLengthLong(buffer.size());
+                    super.getOutputStream().write(buffer.toByteArray());
+                }
+            } else if (compressing) {
+                ((GZIPOutputStream) target).finish();
+            }
+        }
+
+        private void passThrough() throws IOException {
+            target = super.getOutputStream();
+            if (buffer.size() > 0) {
+                target.write(buffer.toByteArray());
+                buffer.reset();
+            }
+        }
+
+        private void startCompression() throws IOException {
+            compressing = true;
+            setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            tagAsGzip();
+            target = new GZIPOutputStream(super.getOutputStream(), 8192);
+            target.write(buffer.toByteArray());
+        }
+
+        private boolean eligible() {
+            String etag = getHeader(HttpHeaders.ETAG);
+            return !request.isAsyncStarted() && getStatus() == HttpServletResponse.SC_OK
+                    && etag != null && !etag.startsWith("W/")
+                    && getHeader(HttpHeaders.CONTENT_ENCODING) == null && compressibleType();
+        }
+
+        private boolean compressibleType() {
+            String contentType = getContentType();
+            if (contentType == null) {
+                return false;
+            }
+            for (String mimeType : compression.getMimeTypes()) {
+                if (contentType.startsWith(mimeType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
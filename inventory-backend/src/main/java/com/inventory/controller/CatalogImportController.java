@@ -0,0 +1,42 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ImportResultDTO;
+import com.inventory.service.CatalogImportService;
+import com.inventory.service.ImportFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/import")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "http://localhost:3001"})
+@RequiredArgsConstructor
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/products", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResultDTO> importProducts(HttpServletRequest request) throws IOException {
+        ImportResultDTO result = catalogImportService.importProducts(request.getInputStream(),
+                ImportFormat.fromContentType(request.getContentType()));
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/raw-materials", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResultDTO> importRawMaterials(HttpServletRequest request) throws IOException {
+        ImportResultDTO result = catalogImportService.importRawMaterials(request.getInputStream(),
+                ImportFormat.fromContentType(request.getContentType()));
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/product-raw-materials", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportResultDTO> importProductRawMaterials(HttpServletRequest request)
+            throws IOException {
+        ImportResultDTO result = catalogImportService.importProductRawMaterials(request.getInputStream(),
+                ImportFormat.fromContentType(request.getContentType()));
+        return ResponseEntity.ok(result);
+    }
+}
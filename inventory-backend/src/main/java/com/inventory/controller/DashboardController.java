@@ -0,0 +1,32 @@
+package com.inventory.controller;
+
+import com.inventory.dto.DashboardSummaryDTO;
+import com.inventory.service.CatalogVersion;
+import com.inventory.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "http://localhost:3001"})
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final CatalogVersion catalogVersion;
+
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDTO> getSummary(WebRequest request) {
+        String etag = catalogVersion.currentTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(dashboardService.getSummary());
+    }
+}
@@ -0,0 +1,39 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ProductComponentDTO;
+import com.inventory.service.ProductComponentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/product-components")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "http://localhost:3001"})
+@RequiredArgsConstructor
+public class ProductComponentController {
+
+    private final ProductComponentService productComponentService;
+
+    @PostMapping
+    public ResponseEntity<ProductComponentDTO> createProductComponent(
+            @Valid @RequestBody ProductComponentDTO productComponentDTO) {
+        ProductComponentDTO created = productComponentService.createProductComponent(productComponentDTO);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ProductComponentDTO>> getAllProductComponents() {
+        List<ProductComponentDTO> list = productComponentService.getAllProductComponents();
+        return ResponseEntity.ok(list);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteProductComponent(@PathVariable Long id) {
+        productComponentService.deleteProductComponent(id);
+        return ResponseEntity.noContent().build();
+    }
+}
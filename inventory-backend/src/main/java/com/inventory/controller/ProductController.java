@@ -1,12 +1,19 @@
 package com.inventory.controller;
 
+import com.inventory.dto.PageResponse;
 import com.inventory.dto.ProductDTO;
+import com.inventory.service.CatalogVersion;
+import com.inventory.service.ExportFormat;
 import com.inventory.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,6 +24,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogVersion catalogVersion;
 
     @PostMapping
     public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO productDTO) {
@@ -25,15 +33,42 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
+    public ResponseEntity<List<ProductDTO>> getAllProducts(WebRequest request) {
+        // A matching If-None-Match is answered from the catalog version alone
+        String etag = catalogVersion.structureTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<ProductDTO> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(products);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<ProductDTO>> getProductsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PageResponse<ProductDTO> page = productService.getProductsPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingResponseBody body = out -> productService.exportProducts(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id, WebRequest request) {
+        String etag = catalogVersion.structureTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ProductDTO product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(product);
     }
 
     @PutMapping("/{id}")
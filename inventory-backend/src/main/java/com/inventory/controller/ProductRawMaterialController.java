@@ -1,12 +1,19 @@
 package com.inventory.controller;
 
+import com.inventory.dto.PageResponse;
 import com.inventory.dto.ProductRawMaterialDTO;
+import com.inventory.service.CatalogVersion;
+import com.inventory.service.ExportFormat;
 import com.inventory.service.ProductRawMaterialService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,6 +24,7 @@ import java.util.List;
 public class ProductRawMaterialController {
 
     private final ProductRawMaterialService productRawMaterialService;
+    private final CatalogVersion catalogVersion;
 
     @PostMapping
     public ResponseEntity<ProductRawMaterialDTO> createProductRawMaterial(
@@ -26,9 +34,31 @@ public class ProductRawMaterialController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductRawMaterialDTO>> getAllProductRawMaterials() {
+    public ResponseEntity<List<ProductRawMaterialDTO>> getAllProductRawMaterials(WebRequest request) {
+        String etag = catalogVersion.structureTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<ProductRawMaterialDTO> list = productRawMaterialService.getAllProductRawMaterials();
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(list);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<ProductRawMaterialDTO>> getProductRawMaterialsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PageResponse<ProductRawMaterialDTO> page = productRawMaterialService.getProductRawMaterialsPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProductRawMaterials(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingResponseBody body = out -> productRawMaterialService.exportProductRawMaterials(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,25 @@
+package com.inventory.controller;
+
+import com.inventory.dto.ProductionOrderDTO;
+import com.inventory.dto.ProductionOrderResultDTO;
+import com.inventory.service.ProductionOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/production")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "http://localhost:3001"})
+@RequiredArgsConstructor
+public class ProductionOrderController {
+
+    private final ProductionOrderService productionOrderService;
+
+    @PostMapping("/orders")
+    public ResponseEntity<ProductionOrderResultDTO> produce(@Valid @RequestBody ProductionOrderDTO order) {
+        ProductionOrderResultDTO result = productionOrderService.produce(order);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+}
@@ -1,14 +1,30 @@
 package com.inventory.controller;
 
+import com.inventory.dto.BottleneckAnalysisDTO;
+import com.inventory.dto.ProcurementPlanDTO;
+import com.inventory.dto.ProcurementRequestDTO;
+import com.inventory.dto.ProductionPlanDTO;
 import com.inventory.dto.ProductionSimulationDTO;
+import com.inventory.dto.ScenarioRequestDTO;
+import com.inventory.dto.ScenarioResultDTO;
+import com.inventory.service.CatalogVersion;
+import com.inventory.service.ProcurementService;
+import com.inventory.service.ProductionPlanService;
 import com.inventory.service.ProductionSimulationService;
+import com.inventory.service.SimulationMode;
+import com.inventory.service.SimulationRun;
+import com.inventory.service.SimulationStreamService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.CrossOrigin;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -18,10 +34,70 @@ import java.util.List;
 public class ProductionSimulationController {
 
     private final ProductionSimulationService productionSimulationService;
+    private final ProductionPlanService productionPlanService;
+    private final ProcurementService procurementService;
+    private final CatalogVersion catalogVersion;
+    private final SimulationStreamService simulationStreamService;
 
     @GetMapping("/simulation")
-    public ResponseEntity<List<ProductionSimulationDTO>> simulateProduction() {
-        List<ProductionSimulationDTO> simulationResults = productionSimulationService.simulateProduction();
-        return ResponseEntity.ok(simulationResults);
+    public ResponseEntity<List<ProductionSimulationDTO>> simulateProduction(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) Instant asOf,
+            WebRequest request) {
+        String etag = catalogVersion.currentTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        SimulationRun run = productionSimulationService.simulate(limit, offset,
+                StringUtils.hasText(mode) ? SimulationMode.parse(mode) : null, asOf);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .header("X-Simulation-Mode", run.getMode().name())
+                .header("X-Simulation-Time-Micros", String.valueOf(run.getComputeNanos() / 1000))
+                .body(run.getResults());
+    }
+
+    @GetMapping(value = "/simulation/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSimulation() {
+        return simulationStreamService.subscribe();
+    }
+
+    @GetMapping("/bottlenecks")
+    public ResponseEntity<BottleneckAnalysisDTO> analyzeBottlenecks(
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        String etag = catalogVersion.currentTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        BottleneckAnalysisDTO analysis = productionSimulationService.analyzeBottlenecks(limit);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(analysis);
+    }
+
+    @GetMapping("/plan")
+    public ResponseEntity<ProductionPlanDTO> optimizePlan(@RequestParam(required = false) Long timeBudgetMs) {
+        ProductionPlanDTO plan = productionPlanService.optimizePlan(timeBudgetMs);
+        return ResponseEntity.ok(plan);
+    }
+
+    @PostMapping("/procurement")
+    public ResponseEntity<ProcurementPlanDTO> recommendProcurement(
+            @Valid @RequestBody ProcurementRequestDTO procurementRequestDTO) {
+        ProcurementPlanDTO plan = procurementService.recommend(procurementRequestDTO.getTargets(),
+                procurementRequestDTO.getTimeBudgetMs());
+        return ResponseEntity.ok(plan);
+    }
+
+    @PostMapping("/scenarios")
+    public ResponseEntity<List<ScenarioResultDTO>> evaluateScenarios(
+            @Valid @RequestBody ScenarioRequestDTO scenarioRequestDTO) {
+        List<ScenarioResultDTO> scenarioResults = productionSimulationService.evaluateScenarios(scenarioRequestDTO);
+        return ResponseEntity.ok(scenarioResults);
     }
 }
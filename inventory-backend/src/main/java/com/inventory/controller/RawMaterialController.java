@@ -1,13 +1,23 @@
 package com.inventory.controller;
 
+import com.inventory.dto.PageResponse;
 import com.inventory.dto.RawMaterialDTO;
+import com.inventory.dto.StockHistoryDTO;
+import com.inventory.service.CatalogVersion;
+import com.inventory.service.ExportFormat;
 import com.inventory.service.RawMaterialService;
+import com.inventory.service.StockHistoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -17,6 +27,8 @@ import java.util.List;
 public class RawMaterialController {
 
     private final RawMaterialService rawMaterialService;
+    private final CatalogVersion catalogVersion;
+    private final StockHistoryService stockHistoryService;
 
     @PostMapping
     public ResponseEntity<RawMaterialDTO> createRawMaterial(@Valid @RequestBody RawMaterialDTO rawMaterialDTO) {
@@ -25,15 +37,51 @@ public class RawMaterialController {
     }
 
     @GetMapping
-    public ResponseEntity<List<RawMaterialDTO>> getAllRawMaterials() {
+    public ResponseEntity<List<RawMaterialDTO>> getAllRawMaterials(WebRequest request) {
+        String etag = catalogVersion.currentTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<RawMaterialDTO> rawMaterials = rawMaterialService.getAllRawMaterials();
-        return ResponseEntity.ok(rawMaterials);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(rawMaterials);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<RawMaterialDTO>> getRawMaterialsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PageResponse<RawMaterialDTO> page = rawMaterialService.getRawMaterialsPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRawMaterials(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingResponseBody body = out -> rawMaterialService.exportRawMaterials(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<StockHistoryDTO> getStockHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String bucket) {
+        StockHistoryDTO history = stockHistoryService.history(id, from, to, bucket);
+        return ResponseEntity.ok(history);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RawMaterialDTO> getRawMaterialById(@PathVariable Long id) {
+    public ResponseEntity<RawMaterialDTO> getRawMaterialById(@PathVariable Long id, WebRequest request) {
+        String etag = catalogVersion.currentTag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         RawMaterialDTO rawMaterial = rawMaterialService.getRawMaterialById(id);
-        return ResponseEntity.ok(rawMaterial);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(rawMaterial);
     }
 
     @PutMapping("/{id}")
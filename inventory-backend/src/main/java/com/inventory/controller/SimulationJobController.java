@@ -0,0 +1,32 @@
+package com.inventory.controller;
+
+import com.inventory.dto.SimulationJobDTO;
+import com.inventory.dto.SimulationJobRequestDTO;
+import com.inventory.service.SimulationJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/production/jobs")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000", "http://localhost:3001"})
+@RequiredArgsConstructor
+public class SimulationJobController {
+
+    private final SimulationJobService simulationJobService;
+
+    @PostMapping
+    public ResponseEntity<SimulationJobDTO> submitJob(@Valid @RequestBody SimulationJobRequestDTO request) {
+        SimulationJobDTO job = simulationJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").build(job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SimulationJobDTO> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(simulationJobService.get(id));
+    }
+}
@@ -0,0 +1,18 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BottleneckAnalysisDTO {
+
+    // Ranked by valueUnlockedPerUnit, highest first
+    private List<ProductBottleneckDTO> products;
+
+    // Ranked by blockedValue, highest first; only materials that limit at least one product
+    private List<MaterialBottleneckDTO> materials;
+}
@@ -0,0 +1,28 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardSummaryDTO {
+
+    private Integer productCount;
+    private Integer rawMaterialCount;
+    private Long totalStock;
+
+    // Sum of price times producible quantity over every product
+    private BigDecimal producibleValue;
+
+    private ProductDTO mostExpensiveProduct;
+    private ProductionSimulationDTO highestCapacityProduct;
+
+    // Materials below lowStockThreshold; lowStockMaterials holds the lowest lowStockLimit of them
+    private Integer lowStockThreshold;
+    private Integer lowStockCount;
+    private List<RawMaterialDTO> lowStockMaterials;
+}
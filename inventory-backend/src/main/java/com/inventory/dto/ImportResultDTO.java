@@ -0,0 +1,16 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDTO {
+
+    private String entity;
+    private String format;
+    private Long rowsImported;
+    private Long elapsedMs;
+    private Long rowsPerSecond;
+}
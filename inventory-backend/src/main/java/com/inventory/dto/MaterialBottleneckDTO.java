@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaterialBottleneckDTO {
+
+    private Long rawMaterialId;
+    private String rawMaterialName;
+    private Integer stockQuantity;
+
+    // Products whose quantity this material caps
+    private Integer limitedProducts;
+
+    // Value those products would add if this material stopped being the cap, up to their next limiting material
+    private BigDecimal blockedValue;
+
+    // Limited products that need no other material; their blocked value has no upper bound and is not counted
+    private Integer soleMaterialProducts;
+}
@@ -0,0 +1,15 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaterialConsumptionDTO {
+
+    private Long rawMaterialId;
+    private String rawMaterialName;
+    private Integer quantityConsumed;
+    private Integer remainingStock;
+}
@@ -0,0 +1,17 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageResponse<T> {
+
+    private List<T> items;
+
+    // Opaque token for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcurementItemDTO {
+
+    private Long rawMaterialId;
+    private String rawMaterialName;
+    private BigDecimal unitCost;
+    private Integer stockQuantity;
+
+    // Needed by all targets together; purchaseQuantity = requiredQuantity - stockQuantity
+    private Long requiredQuantity;
+    private Long purchaseQuantity;
+    private BigDecimal cost;
+}
@@ -0,0 +1,26 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcurementPlanDTO {
+
+    // Materials to buy, highest cost first
+    private List<ProcurementItemDTO> items;
+    private BigDecimal totalCost;
+
+    // COMPLETE, or TIME_LIMIT when the budget ran out: items then only cover the first targetsCovered targets
+    private String status;
+    private Integer targetCount;
+    private Integer targetsCovered;
+
+    // Targeted products without a recipe; they need no material
+    private Integer targetsWithoutRecipe;
+    private Long solveTimeMs;
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcurementRequestDTO {
+
+    // Solved together: a product listed twice counts with the sum of its quantities
+    @NotEmpty(message = "At least one target is required")
+    private List<@Valid ProductTargetDTO> targets;
+
+    private Long timeBudgetMs;
+}
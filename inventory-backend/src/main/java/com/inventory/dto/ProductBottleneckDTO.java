@@ -0,0 +1,32 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBottleneckDTO {
+
+    private Long productId;
+    private String productName;
+    private BigDecimal price;
+    private Integer quantityPossible;
+
+    // Material that caps quantityPossible (ties: first in the recipe)
+    private Long limitingMaterialId;
+    private String limitingMaterialName;
+    private Integer limitingMaterialStock;
+    private Integer requiredPerUnit;
+
+    // Units of the limiting material missing for one more unit of the product
+    private Long extraUnitsNeeded;
+
+    // Units missing over all materials short for that unit; more than extraUnitsNeeded when several bind at once
+    private Long totalExtraUnitsNeeded;
+
+    // price / totalExtraUnitsNeeded: value gained per extra unit of material bought
+    private BigDecimal valueUnlockedPerUnit;
+}
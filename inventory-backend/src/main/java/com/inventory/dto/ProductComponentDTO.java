@@ -0,0 +1,28 @@
+package com.inventory.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductComponentDTO {
+
+    private Long id;
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    private String productName;
+
+    @NotNull(message = "Component ID is required")
+    private Long componentId;
+
+    private String componentName;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,19 @@
+package com.inventory.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductTargetDTO {
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Target quantity is required")
+    @Min(value = 1, message = "Target quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductionOrderResultDTO {
+
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private List<MaterialConsumptionDTO> consumed;
+
+    // Transaction attempts needed, above 1 when transient lock failures were retried
+    private Integer attempts;
+}
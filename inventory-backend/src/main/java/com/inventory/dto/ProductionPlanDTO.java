@@ -0,0 +1,24 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductionPlanDTO {
+
+    private List<ProductionPlanItemDTO> items;
+    private BigDecimal totalValue;
+
+    // Best bound on the achievable value; optimalityGap = (upperBound - totalValue) / upperBound
+    private BigDecimal upperBound;
+    private Double optimalityGap;
+
+    private String status;
+    private Integer iterations;
+    private Long solveTimeMs;
+}
@@ -0,0 +1,18 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductionPlanItemDTO {
+
+    private Long productId;
+    private String productName;
+    private BigDecimal price;
+    private Integer quantity;
+    private BigDecimal totalValue;
+}
@@ -10,7 +10,9 @@ import java.math.BigDecimal;
 @Builder
 public class ProductionSimulationDTO {
 
+    private Long productId;
     private String productName;
+    private BigDecimal price;
     private Integer quantityPossible;
     private BigDecimal totalValue;
 }
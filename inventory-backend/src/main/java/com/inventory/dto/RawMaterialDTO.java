@@ -1,10 +1,13 @@
 package com.inventory.dto;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,4 +22,8 @@ public class RawMaterialDTO {
     @NotNull(message = "Stock quantity is required")
     @Min(value = 0, message = "Stock quantity cannot be negative")
     private Integer stockQuantity;
+
+    // Optional; a material created without it costs 0 and an update without it keeps the current cost
+    @DecimalMin(value = "0.0", message = "Unit cost cannot be negative")
+    private BigDecimal unitCost;
 }
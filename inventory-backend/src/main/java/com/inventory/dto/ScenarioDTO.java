@@ -0,0 +1,19 @@
+package com.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioDTO {
+
+    private String name;
+
+    @NotNull(message = "Stock deltas are required")
+    private List<@Valid StockDeltaDTO> stockDeltas;
+}
@@ -0,0 +1,22 @@
+package com.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioRequestDTO {
+
+    @NotEmpty(message = "At least one scenario is required")
+    private List<@Valid ScenarioDTO> scenarios;
+
+    // Optional page size applied to the results of every scenario
+    @Min(value = 0, message = "Limit cannot be negative")
+    private Integer limit;
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScenarioResultDTO {
+
+    private String name;
+
+    // Value of everything producible in the scenario, not only of the returned page
+    private BigDecimal totalValue;
+    private Integer affectedProducts;
+    private List<ProductionSimulationDTO> results;
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Changes of the simulation since the previous stream message: products whose
+ * quantity or value changed (or that became producible), and products that are
+ * no longer producible or no longer exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationDeltaDTO {
+
+    private List<ProductionSimulationDTO> changed;
+    private List<Long> removed;
+}
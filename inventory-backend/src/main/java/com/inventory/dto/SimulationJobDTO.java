@@ -0,0 +1,33 @@
+package com.inventory.dto;
+
+import com.inventory.service.SimulationJobStatus;
+import com.inventory.service.SimulationJobType;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationJobDTO {
+
+    private String id;
+    private SimulationJobType type;
+    private SimulationJobStatus status;
+
+    // 0 to 1; plan jobs advance with their time budget, simulations jump to 1 when done
+    private Double progress;
+
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    // When the job and its result are discarded; set once it finishes
+    private Instant expiresAt;
+
+    private String error;
+
+    // List of ProductionSimulationDTO for SIMULATION, ProductionPlanDTO for PLAN
+    private Object result;
+}
@@ -0,0 +1,36 @@
+package com.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationJobRequestDTO {
+
+    // SIMULATION, PLAN or PROCUREMENT
+    @NotBlank(message = "Job type is required")
+    private String type;
+
+    // SIMULATION: same parameters as GET /production/simulation
+    @Min(value = 0, message = "Limit cannot be negative")
+    private Integer limit;
+
+    @Min(value = 0, message = "Offset cannot be negative")
+    private Integer offset;
+
+    private String mode;
+    private Instant asOf;
+
+    // PLAN and PROCUREMENT: same parameter as GET /production/plan and POST /production/procurement
+    private Long timeBudgetMs;
+
+    // PROCUREMENT: same targets as POST /production/procurement
+    private List<@Valid ProductTargetDTO> targets;
+}
@@ -0,0 +1,17 @@
+package com.inventory.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockDeltaDTO {
+
+    @NotNull(message = "Raw material ID is required")
+    private Long rawMaterialId;
+
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
@@ -0,0 +1,20 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockHistoryDTO {
+
+    private Long rawMaterialId;
+    private String rawMaterialName;
+    private Instant from;
+    private Instant to;
+    private Long bucketSeconds;
+    private List<StockHistoryPointDTO> points;
+}
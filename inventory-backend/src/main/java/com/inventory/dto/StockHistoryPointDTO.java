@@ -0,0 +1,25 @@
+package com.inventory.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Stock of one material over one bucket of a history request. Buckets without
+ * movements repeat the previous level.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockHistoryPointDTO {
+
+    private Instant start;
+    private Integer open;
+    private Integer close;
+    private Integer min;
+    private Integer max;
+    private Long added;
+    private Long consumed;
+    private Integer movements;
+}
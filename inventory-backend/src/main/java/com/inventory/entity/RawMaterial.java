@@ -3,6 +3,7 @@ package com.inventory.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -25,6 +26,16 @@ public class RawMaterial {
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
 
+    // Purchase price of one unit, used by procurement recommendations
+    @Column(name = "unit_cost", nullable = false, precision = 10, scale = 2)
+    @Builder.Default
+    private BigDecimal unitCost = BigDecimal.ZERO;
+
+    // Bumped by every stock write, including the conditional updates of production orders
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "rawMaterial", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private Set<ProductRawMaterial> productRawMaterials = new HashSet<>();
@@ -0,0 +1,62 @@
+package com.inventory.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Published by the write paths of the catalog services. Listeners should use
+ * {@code @TransactionalEventListener} so they only observe committed data.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CatalogChangedEvent {
+
+    public enum Kind {
+        PRODUCT,
+        RAW_MATERIAL,
+        RECIPE,
+        STOCK,
+
+        // Bulk change of any part of the catalog, entityId is null
+        CATALOG
+    }
+
+    private final Kind kind;
+    private final Long entityId;
+
+    // Only filled for STOCK events: raw material id -> new stock quantity / row version.
+    // Listeners may see events of concurrent transactions out of commit order and should
+    // ignore a stock level older than the one they already hold.
+    private final Map<Long, Integer> stockQuantities;
+    private final Map<Long, Long> stockVersions;
+
+    public static CatalogChangedEvent product(Long productId) {
+        return new CatalogChangedEvent(Kind.PRODUCT, productId, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public static CatalogChangedEvent rawMaterial(Long rawMaterialId) {
+        return new CatalogChangedEvent(Kind.RAW_MATERIAL, rawMaterialId, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public static CatalogChangedEvent recipe(Long productId) {
+        return new CatalogChangedEvent(Kind.RECIPE, productId, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public static CatalogChangedEvent catalog() {
+        return new CatalogChangedEvent(Kind.CATALOG, null, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public static CatalogChangedEvent stock(Long rawMaterialId, Integer stockQuantity, Long version) {
+        return new CatalogChangedEvent(Kind.STOCK, rawMaterialId,
+                Collections.singletonMap(rawMaterialId, stockQuantity),
+                Collections.singletonMap(rawMaterialId, version));
+    }
+
+    public static CatalogChangedEvent stock(Map<Long, Integer> stockQuantities, Map<Long, Long> stockVersions) {
+        return new CatalogChangedEvent(Kind.STOCK, null, Map.copyOf(stockQuantities), Map.copyOf(stockVersions));
+    }
+}
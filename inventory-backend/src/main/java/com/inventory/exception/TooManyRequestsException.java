@@ -0,0 +1,15 @@
+package com.inventory.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    // Sent as Retry-After
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventory.mapper;
+
+import com.inventory.dto.ProductComponentDTO;
+import com.inventory.entity.ProductComponent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductComponentMapper {
+
+    public ProductComponentDTO toDTO(ProductComponent entity) {
+        if (entity == null) {
+            return null;
+        }
+        return ProductComponentDTO.builder()
+                .id(entity.getId())
+                .productId(entity.getProduct().getId())
+                .productName(entity.getProduct().getName())
+                .componentId(entity.getComponent().getId())
+                .componentName(entity.getComponent().getName())
+                .quantity(entity.getQuantity())
+                .build();
+    }
+
+    public List<ProductComponentDTO> toDTOList(List<ProductComponent> entities) {
+        if (entities == null) {
+            return null;
+        }
+        return entities.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+}
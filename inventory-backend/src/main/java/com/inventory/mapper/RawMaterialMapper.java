@@ -4,6 +4,7 @@ import com.inventory.dto.RawMaterialDTO;
 import com.inventory.entity.RawMaterial;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +19,7 @@ public class RawMaterialMapper {
                 .id(dto.getId())
                 .name(dto.getName())
                 .stockQuantity(dto.getStockQuantity())
+                .unitCost(dto.getUnitCost() != null ? dto.getUnitCost() : BigDecimal.ZERO)
                 .build();
     }
 
@@ -29,6 +31,7 @@ public class RawMaterialMapper {
                 .id(entity.getId())
                 .name(entity.getName())
                 .stockQuantity(entity.getStockQuantity())
+                .unitCost(entity.getUnitCost())
                 .build();
     }
 
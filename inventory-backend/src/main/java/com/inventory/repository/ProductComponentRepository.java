@@ -0,0 +1,29 @@
+package com.inventory.repository;
+
+import com.inventory.entity.ProductComponent;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductComponentRepository extends JpaRepository<ProductComponent, Long> {
+
+    @EntityGraph(attributePaths = {"product", "component"})
+    @Query("SELECT pc FROM ProductComponent pc")
+    List<ProductComponent> findAllWithDetails();
+
+    // Scalar rows [productId, componentId, quantity] for the BOM index, no entity hydration
+    @Query("SELECT pc.product.id, pc.component.id, pc.quantity FROM ProductComponent pc")
+    List<Object[]> findAllForIndex();
+
+    // The product and every product below it through components; native SQL for the recursive walk
+    @Query(value = "WITH RECURSIVE descendants(id) AS ("
+            + "SELECT CAST(:productId AS BIGINT) "
+            + "UNION SELECT pc.component_id FROM product_components pc JOIN descendants d ON pc.product_id = d.id"
+            + ") SELECT id FROM descendants", nativeQuery = true)
+    List<Long> findDescendantIds(@Param("productId") Long productId);
+}
@@ -1,12 +1,19 @@
 package com.inventory.repository;
 
+import com.inventory.dto.ProductRawMaterialDTO;
 import com.inventory.entity.ProductRawMaterial;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRawMaterialRepository extends JpaRepository<ProductRawMaterial, Long> {
@@ -14,6 +21,22 @@ public interface ProductRawMaterialRepository extends JpaRepository<ProductRawMa
     @Query("SELECT prm FROM ProductRawMaterial prm WHERE prm.product.id = :productId")
     List<ProductRawMaterial> findByProductId(@Param("productId") Long productId);
 
-    @Query("SELECT prm FROM ProductRawMaterial prm JOIN FETCH prm.product JOIN FETCH prm.rawMaterial")
+    @EntityGraph(attributePaths = {"product", "rawMaterial"})
+    @Query("SELECT prm FROM ProductRawMaterial prm")
     List<ProductRawMaterial> findAllWithDetails();
+
+    @Query("SELECT new com.inventory.dto.ProductRawMaterialDTO(prm.id, p.id, p.name, r.id, r.name, prm.quantity) "
+            + "FROM ProductRawMaterial prm JOIN prm.product p JOIN prm.rawMaterial r "
+            + "WHERE prm.id > :afterId ORDER BY prm.id")
+    List<ProductRawMaterialDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.inventory.dto.ProductRawMaterialDTO(prm.id, p.id, p.name, r.id, r.name, prm.quantity) "
+            + "FROM ProductRawMaterial prm JOIN prm.product p JOIN prm.rawMaterial r ORDER BY prm.id")
+    Stream<ProductRawMaterialDTO> streamAllProjected();
+
+    // Scalar rows [productId, rawMaterialId, quantity] for the BOM index, no entity hydration
+    @Query("SELECT prm.product.id, prm.rawMaterial.id, prm.quantity FROM ProductRawMaterial prm")
+    List<Object[]> findAllForIndex();
 }
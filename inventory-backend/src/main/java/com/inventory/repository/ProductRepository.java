@@ -1,15 +1,53 @@
 package com.inventory.repository;
 
+import com.inventory.dto.ProductDTO;
 import com.inventory.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.productRawMaterials")
+    @EntityGraph(attributePaths = {"productRawMaterials", "productRawMaterials.rawMaterial"})
+    @Query("SELECT DISTINCT p FROM Product p")
     List<Product> findAllWithRawMaterials();
+
+    // DTO projections for the read endpoints: one statement, no recipe graph
+    @Query("SELECT new com.inventory.dto.ProductDTO(p.id, p.name, p.price) FROM Product p")
+    List<ProductDTO> findAllProjected();
+
+    @Query("SELECT new com.inventory.dto.ProductDTO(p.id, p.name, p.price) FROM Product p WHERE p.id = :id")
+    Optional<ProductDTO> findProjectedById(@Param("id") Long id);
+
+    @Query("SELECT new com.inventory.dto.ProductDTO(p.id, p.name, p.price) FROM Product p "
+            + "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.inventory.dto.ProductDTO(p.id, p.name, p.price) FROM Product p ORDER BY p.id")
+    Stream<ProductDTO> streamAllProjected();
+
+    // Scalar rows [id, name, price] for the BOM index, no entity hydration
+    @Query("SELECT p.id, p.name, p.price FROM Product p ORDER BY p.id")
+    List<Object[]> findAllForIndex();
+
+    // Row locks held until commit, taken in id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,9 +1,58 @@
 package com.inventory.repository;
 
+import com.inventory.dto.RawMaterialDTO;
 import com.inventory.entity.RawMaterial;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long> {
+
+    // DTO projections for the read endpoints: one statement, no managed entities
+    @Query("SELECT new com.inventory.dto.RawMaterialDTO(r.id, r.name, r.stockQuantity, r.unitCost) FROM RawMaterial r")
+    List<RawMaterialDTO> findAllProjected();
+
+    @Query("SELECT new com.inventory.dto.RawMaterialDTO(r.id, r.name, r.stockQuantity, r.unitCost) FROM RawMaterial r "
+            + "WHERE r.id = :id")
+    Optional<RawMaterialDTO> findProjectedById(@Param("id") Long id);
+
+    @Query("SELECT new com.inventory.dto.RawMaterialDTO(r.id, r.name, r.stockQuantity, r.unitCost) FROM RawMaterial r "
+            + "WHERE r.id > :afterId ORDER BY r.id")
+    List<RawMaterialDTO> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.inventory.dto.RawMaterialDTO(r.id, r.name, r.stockQuantity, r.unitCost) FROM RawMaterial r "
+            + "ORDER BY r.id")
+    Stream<RawMaterialDTO> streamAllProjected();
+
+    // Scalar rows [id, name, stockQuantity, version, unitCost] for the BOM index, no entity hydration
+    @Query("SELECT r.id, r.name, r.stockQuantity, r.version, r.unitCost FROM RawMaterial r ORDER BY r.id")
+    List<Object[]> findAllForIndex();
+
+    /**
+     * Takes {@code quantity} units from the material only if that much is in
+     * stock. The check and the decrement are one statement, so concurrent
+     * writers cannot both pass the check. Returns the number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE RawMaterial r SET r.stockQuantity = r.stockQuantity - :quantity, r.version = r.version + 1 "
+            + "WHERE r.id = :id AND r.stockQuantity >= :quantity")
+    int consumeStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Scalar rows [id, name, stockQuantity, version]
+    @Query("SELECT r.id, r.name, r.stockQuantity, r.version FROM RawMaterial r WHERE r.id IN :ids ORDER BY r.id")
+    List<Object[]> findStockLevels(@Param("ids") Collection<Long> ids);
 }
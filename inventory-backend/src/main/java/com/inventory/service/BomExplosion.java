@@ -0,0 +1,186 @@
+package com.inventory.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flattens multi-level bills of materials into raw material requirements.
+ * Products are exploded children first (topological order over the component
+ * graph), so every explosion reuses the already exploded components and the
+ * work stays linear in the size of the BOM. Explosions are memoized across
+ * builds and invalidated only for the changed product and its ancestors.
+ * Not thread-safe; {@link BomIndexService} serializes access.
+ */
+@Slf4j
+public class BomExplosion {
+
+    /**
+     * Raw material requirements of one unit of a product, merged by material.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Recipe {
+        private final long[] materialIds;
+        private final long[] quantities;
+
+        static final Recipe EMPTY = new Recipe(new long[0], new long[0]);
+    }
+
+    private final Map<Long, Recipe> cache = new HashMap<>();
+
+    // component id -> ids of the products that use it, as of the last explosion
+    private Map<Long, List<Long>> parents = new HashMap<>();
+
+    // Lines skipped for a missing or non-positive quantity, logged once per explosion
+    private int invalidLines;
+    private Long firstInvalidProduct;
+
+    /**
+     * @param productIds ids of all products
+     * @param recipes    rows of {@code [productId, rawMaterialId, quantity]}
+     * @param components rows of {@code [productId, componentId, quantity]}
+     */
+    public Map<Long, Recipe> explode(Collection<Long> productIds, List<Object[]> recipes, List<Object[]> components) {
+        Map<Long, List<Object[]>> directLines = new HashMap<>();
+        for (Object[] row : recipes) {
+            directLines.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add(row);
+        }
+        Map<Long, List<Object[]>> children = new HashMap<>();
+        Map<Long, List<Long>> parentsOf = new HashMap<>();
+        for (Object[] row : components) {
+            children.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add(row);
+            parentsOf.computeIfAbsent((Long) row[1], key -> new ArrayList<>()).add((Long) row[0]);
+        }
+        this.parents = parentsOf;
+
+        // Kahn's algorithm, children first: a product is ready once all its components are
+        Map<Long, Integer> pendingChildren = new HashMap<>();
+        Deque<Long> ready = new ArrayDeque<>();
+        for (Long productId : productIds) {
+            int count = children.getOrDefault(productId, List.of()).size();
+            pendingChildren.put(productId, count);
+            if (count == 0) {
+                ready.add(productId);
+            }
+        }
+
+        invalidLines = 0;
+        firstInvalidProduct = null;
+        Map<Long, Recipe> exploded = new HashMap<>(productIds.size() * 2);
+        while (!ready.isEmpty()) {
+            Long productId = ready.poll();
+            Recipe recipe = cache.get(productId);
+            if (recipe == null) {
+                recipe = explodeOne(productId, directLines.getOrDefault(productId, List.of()),
+                        children.getOrDefault(productId, List.of()), exploded);
+                cache.put(productId, recipe);
+            }
+            exploded.put(productId, recipe);
+            for (Long parent : parentsOf.getOrDefault(productId, List.of())) {
+                if (pendingChildren.merge(parent, -1, Integer::sum) == 0) {
+                    ready.add(parent);
+                }
+            }
+        }
+
+        if (exploded.size() < productIds.size()) {
+            // Writes reject cycles, so this only happens with inconsistent data
+            for (Long productId : productIds) {
+                if (!exploded.containsKey(productId)) {
+                    log.error("Produto {} participa de um ciclo de componentes e sera ignorado", productId);
+                    exploded.put(productId, Recipe.EMPTY);
+                }
+            }
+        }
+        if (invalidLines > 0) {
+            log.warn("{} linha(s) de receita com quantidade invalida ignoradas (primeiro produto afetado: {})",
+                    invalidLines, firstInvalidProduct);
+        }
+        cache.keySet().retainAll(exploded.keySet());
+        return exploded;
+    }
+
+    /**
+     * Drops the memoized explosion of the product and of every product that
+     * uses it, directly or through other sub-assemblies.
+     */
+    public void invalidate(Long productId) {
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.push(productId);
+        while (!pending.isEmpty()) {
+            Long current = pending.pop();
+            if (visited.add(current)) {
+                cache.remove(current);
+                parents.getOrDefault(current, List.of()).forEach(pending::push);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private Recipe explodeOne(Long productId, List<Object[]> direct, List<Object[]> components,
+                              Map<Long, Recipe> exploded) {
+        Map<Long, Long> merged = new HashMap<>();
+        for (Object[] row : direct) {
+            Integer quantity = (Integer) row[2];
+            if (quantity == null || quantity <= 0) {
+                countInvalid(productId);
+                continue;
+            }
+            merged.merge((Long) row[1], quantity.longValue(), BomExplosion::saturatedAdd);
+        }
+        for (Object[] row : components) {
+            Integer quantity = (Integer) row[2];
+            if (quantity == null || quantity <= 0) {
+                countInvalid(productId);
+                continue;
+            }
+            Recipe component = exploded.get((Long) row[1]);
+            for (int i = 0; i < component.materialIds.length; i++) {
+                merged.merge(component.materialIds[i], saturatedMultiply(component.quantities[i], quantity),
+                        BomExplosion::saturatedAdd);
+            }
+        }
+        if (merged.isEmpty()) {
+            return Recipe.EMPTY;
+        }
+        long[] materialIds = merged.keySet().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(materialIds);
+        long[] quantities = new long[materialIds.length];
+        for (int i = 0; i < materialIds.length; i++) {
+            quantities[i] = merged.get(materialIds[i]);
+        }
+        return new Recipe(materialIds, quantities);
+    }
+
+    private void countInvalid(Long productId) {
+        if (invalidLines++ == 0) {
+            firstInvalidProduct = productId;
+        }
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        return high != 0 || a * b < 0 ? Long.MAX_VALUE : a * b;
+    }
+}
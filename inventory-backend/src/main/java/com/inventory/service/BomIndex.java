@@ -0,0 +1,466 @@
+package com.inventory.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled, immutable view of the catalog used by the production simulation.
+ * Products and raw materials are addressed by dense ordinals and the exploded
+ * recipes (sub-assemblies flattened into raw materials) are stored in CSR
+ * layout: product {@code p} uses the lines
+ * {@code recipeOffsets[p] .. recipeOffsets[p + 1] - 1}. A reverse CSR maps each
+ * material to the products that use it, so a stock change only recomputes the
+ * affected products of the materialized {@code producible} array.
+ */
+public final class BomIndex {
+
+    private final long[] productIds;
+    private final String[] productNames;
+    private final BigDecimal[] productPrices;
+    private final Map<Long, Integer> productOrdinals;
+
+    // Product ordinals sorted by price descending, then by id
+    private final int[] priceOrder;
+
+    private final long[] materialIds;
+    private final String[] materialNames;
+    private final BigDecimal[] materialCosts;
+    private final Map<Long, Integer> materialOrdinals;
+
+    private final int[] recipeOffsets;
+    private final int[] recipeMaterials;
+    private final int[] recipeQuantities;
+
+    private final int[] usageOffsets;
+    private final int[] usageProducts;
+
+    private final int[] stock;
+
+    // Row version each stock level was read at, so stale patches can be skipped
+    private final long[] stockVersions;
+
+    // Materialized simulation result: max quantity per product, -1 when it has no recipe
+    private final int[] producible;
+
+    // Dashboard aggregates, set before the index is published and patched with the arrays above
+    private final int lowStockThreshold;
+    private long totalStock;
+    private BigDecimal producibleValue;
+
+    // Product with the largest producible quantity (ties: lowest id), -1 when nothing is producible
+    private int highestCapacity;
+
+    // Materials with stock below lowStockThreshold, by stock ascending, then id
+    private int[] lowStock;
+
+    private BomIndex(long[] productIds, String[] productNames, BigDecimal[] productPrices,
+                     Map<Long, Integer> productOrdinals, int[] priceOrder,
+                     long[] materialIds, String[] materialNames, BigDecimal[] materialCosts,
+                     Map<Long, Integer> materialOrdinals,
+                     int[] recipeOffsets, int[] recipeMaterials, int[] recipeQuantities,
+                     int[] usageOffsets, int[] usageProducts, int[] stock, long[] stockVersions,
+                     int[] producible, int lowStockThreshold) {
+        this.productIds = productIds;
+        this.productNames = productNames;
+        this.productPrices = productPrices;
+        this.productOrdinals = productOrdinals;
+        this.priceOrder = priceOrder;
+        this.materialIds = materialIds;
+        this.materialNames = materialNames;
+        this.materialCosts = materialCosts;
+        this.materialOrdinals = materialOrdinals;
+        this.recipeOffsets = recipeOffsets;
+        this.recipeMaterials = recipeMaterials;
+        this.recipeQuantities = recipeQuantities;
+        this.usageOffsets = usageOffsets;
+        this.usageProducts = usageProducts;
+        this.stock = stock;
+        this.stockVersions = stockVersions;
+        this.producible = producible;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    /**
+     * @param products  rows of {@code [id, name, price]}
+     * @param materials rows of {@code [id, name, stockQuantity, version, unitCost]}
+     * @param recipes   exploded recipe of each product id
+     * @param lowStockThreshold stock below which a material counts as low stock
+     */
+    public static BomIndex compile(List<Object[]> products, List<Object[]> materials,
+                                   Map<Long, BomExplosion.Recipe> recipes, int lowStockThreshold) {
+        int productCount = products.size();
+        long[] productIds = new long[productCount];
+        String[] productNames = new String[productCount];
+        BigDecimal[] productPrices = new BigDecimal[productCount];
+        Map<Long, Integer> productOrdinals = new HashMap<>(productCount * 2);
+        for (int p = 0; p < productCount; p++) {
+            Object[] row = products.get(p);
+            productIds[p] = (Long) row[0];
+            productNames[p] = (String) row[1];
+            productPrices[p] = (BigDecimal) row[2];
+            productOrdinals.put(productIds[p], p);
+        }
+
+        Integer[] byPrice = new Integer[productCount];
+        for (int p = 0; p < productCount; p++) {
+            byPrice[p] = p;
+        }
+        Arrays.sort(byPrice, Comparator.<Integer, BigDecimal>comparing(p -> productPrices[p]).reversed()
+                .thenComparingLong(p -> productIds[p]));
+        int[] priceOrder = new int[productCount];
+        for (int i = 0; i < productCount; i++) {
+            priceOrder[i] = byPrice[i];
+        }
+
+        int materialCount = materials.size();
+        long[] materialIds = new long[materialCount];
+        String[] materialNames = new String[materialCount];
+        BigDecimal[] materialCosts = new BigDecimal[materialCount];
+        int[] stock = new int[materialCount];
+        long[] stockVersions = new long[materialCount];
+        Map<Long, Integer> materialOrdinals = new HashMap<>(materialCount * 2);
+        for (int m = 0; m < materialCount; m++) {
+            Object[] row = materials.get(m);
+            materialIds[m] = (Long) row[0];
+            materialNames[m] = (String) row[1];
+            stock[m] = row[2] != null ? (Integer) row[2] : 0;
+            stockVersions[m] = row[3] != null ? (Long) row[3] : 0L;
+            materialCosts[m] = row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO;
+            materialOrdinals.put(materialIds[m], m);
+        }
+
+        // Recipes are the exploded raw material requirements, already merged by material
+        int[] recipeOffsets = new int[productCount + 1];
+        int validLines = 0;
+        for (int p = 0; p < productCount; p++) {
+            BomExplosion.Recipe recipe = recipes.get(productIds[p]);
+            if (recipe != null) {
+                for (long materialId : recipe.getMaterialIds()) {
+                    if (materialOrdinals.containsKey(materialId)) {
+                        validLines++;
+                    }
+                }
+            }
+            recipeOffsets[p + 1] = validLines;
+        }
+
+        int[] recipeMaterials = new int[validLines];
+        int[] recipeQuantities = new int[validLines];
+        for (int p = 0; p < productCount; p++) {
+            BomExplosion.Recipe recipe = recipes.get(productIds[p]);
+            int slot = recipeOffsets[p];
+            for (int i = 0; recipe != null && i < recipe.getMaterialIds().length; i++) {
+                Integer m = materialOrdinals.get(recipe.getMaterialIds()[i]);
+                if (m != null) {
+                    recipeMaterials[slot] = m;
+                    // Requirements beyond int range can never be met anyway
+                    recipeQuantities[slot] = (int) Math.min(recipe.getQuantities()[i], Integer.MAX_VALUE);
+                    slot++;
+                }
+            }
+        }
+
+        // Reverse index: material -> products using it
+        int[] usageOffsets = new int[materialCount + 1];
+        for (int line = 0; line < validLines; line++) {
+            usageOffsets[recipeMaterials[line] + 1]++;
+        }
+        for (int m = 0; m < materialCount; m++) {
+            usageOffsets[m + 1] += usageOffsets[m];
+        }
+        int[] usageProducts = new int[validLines];
+        int[] usageCursor = new int[materialCount];
+        for (int p = 0; p < productCount; p++) {
+            for (int line = recipeOffsets[p]; line < recipeOffsets[p + 1]; line++) {
+                int m = recipeMaterials[line];
+                usageProducts[usageOffsets[m] + usageCursor[m]++] = p;
+            }
+        }
+
+        BomIndex index = new BomIndex(productIds, productNames, productPrices, productOrdinals, priceOrder,
+                materialIds, materialNames, materialCosts, materialOrdinals,
+                recipeOffsets, recipeMaterials, recipeQuantities,
+                usageOffsets, usageProducts, stock, stockVersions, new int[productCount], lowStockThreshold);
+        index.totalStock = 0;
+        index.producibleValue = BigDecimal.ZERO;
+        index.highestCapacity = -1;
+        for (int p = 0; p < productCount; p++) {
+            index.producible[p] = index.maxProducible(p, stock);
+            index.producibleValue = index.producibleValue.add(index.valueOf(p, index.producible[p]));
+            if (index.higherCapacity(p, index.highestCapacity)) {
+                index.highestCapacity = p;
+            }
+        }
+        int[] lowStock = new int[materialCount];
+        int lowStockCount = 0;
+        for (int m = 0; m < materialCount; m++) {
+            index.totalStock += stock[m];
+            if (stock[m] < lowStockThreshold) {
+                lowStock[lowStockCount++] = m;
+            }
+        }
+        index.lowStock = index.sortByStock(Arrays.copyOf(lowStock, lowStockCount));
+        return index;
+    }
+
+    /**
+     * Returns a copy of this index with the given stock levels applied. Only the
+     * products that use a changed material are recomputed; the catalog and recipe
+     * arrays are shared with the original. Unknown material ids and levels whose
+     * version is not newer than the one held are ignored, so patches may arrive
+     * in any order.
+     */
+    public BomIndex withStock(Map<Long, Integer> stockQuantities, Map<Long, Long> versions) {
+        int[] patchedStock = stock.clone();
+        long[] patchedVersions = stockVersions.clone();
+        int[] patchedProducible = producible.clone();
+        BomIndex patched = new BomIndex(productIds, productNames, productPrices, productOrdinals, priceOrder,
+                materialIds, materialNames, materialCosts, materialOrdinals,
+                recipeOffsets, recipeMaterials, recipeQuantities,
+                usageOffsets, usageProducts, patchedStock, patchedVersions, patchedProducible, lowStockThreshold);
+        patched.totalStock = totalStock;
+        patched.producibleValue = producibleValue;
+        patched.highestCapacity = highestCapacity;
+        boolean highestDropped = false;
+        Set<Integer> lowStockChanged = new HashSet<>();
+        for (Map.Entry<Long, Integer> entry : stockQuantities.entrySet()) {
+            Integer m = materialOrdinals.get(entry.getKey());
+            Long version = versions.get(entry.getKey());
+            if (m == null || version == null || version <= patchedVersions[m]) {
+                continue;
+            }
+            patchedVersions[m] = version;
+            int newStock = entry.getValue() != null ? entry.getValue() : 0;
+            if (patchedStock[m] == newStock) {
+                continue;
+            }
+            if (patchedStock[m] < lowStockThreshold || newStock < lowStockThreshold) {
+                lowStockChanged.add(m);
+            }
+            patched.totalStock += newStock - patchedStock[m];
+            patchedStock[m] = newStock;
+            for (int i = usageOffsets[m]; i < usageOffsets[m + 1]; i++) {
+                int p = usageProducts[i];
+                int before = patchedProducible[p];
+                patchedProducible[p] = patched.maxProducible(p, patchedStock);
+                patched.producibleValue = patched.producibleValue
+                        .add(valueOf(p, patchedProducible[p])).subtract(valueOf(p, before));
+                if (p == patched.highestCapacity && patchedProducible[p] < before) {
+                    highestDropped = true;
+                } else if (patched.higherCapacity(p, patched.highestCapacity)) {
+                    patched.highestCapacity = p;
+                }
+            }
+        }
+        // Only a drop of the current maximum needs a scan of every product
+        if (highestDropped) {
+            patched.highestCapacity = -1;
+            for (int p = 0; p < patchedProducible.length; p++) {
+                if (patched.higherCapacity(p, patched.highestCapacity)) {
+                    patched.highestCapacity = p;
+                }
+            }
+        }
+        patched.lowStock = lowStockChanged.isEmpty() ? lowStock : patched.patchLowStock(lowStock, lowStockChanged);
+        return patched;
+    }
+
+    /**
+     * Current maximum producible quantity of product {@code p}, or -1 when the
+     * product has no recipe. This is a read of the materialized state.
+     */
+    public int producible(int p) {
+        return producible[p];
+    }
+
+    /**
+     * Maximum quantity of product {@code p} that the given stock levels (indexed
+     * by material ordinal) allow, or -1 when the product has no recipe.
+     */
+    public int maxProducible(int p, int[] stockLevels) {
+        int start = recipeOffsets[p];
+        int end = recipeOffsets[p + 1];
+        if (start == end) {
+            return -1;
+        }
+        int max = Integer.MAX_VALUE;
+        for (int i = start; i < end; i++) {
+            int possible = stockLevels[recipeMaterials[i]] / recipeQuantities[i];
+            if (possible < max) {
+                max = possible;
+                if (max <= 0) {
+                    return 0;
+                }
+            }
+        }
+        return max;
+    }
+
+    public long totalStock() {
+        return totalStock;
+    }
+
+    /**
+     * Sum of price times producible quantity over every product.
+     */
+    public BigDecimal producibleValue() {
+        return producibleValue;
+    }
+
+    /**
+     * Ordinal of the product with the largest producible quantity, or -1 when
+     * no product is producible.
+     */
+    public int highestCapacityProduct() {
+        return highestCapacity;
+    }
+
+    public int lowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    public int lowStockCount() {
+        return lowStock.length;
+    }
+
+    /**
+     * Ordinal of the material at {@code rank} among those below the low stock
+     * threshold, lowest stock first.
+     */
+    public int lowStockMaterial(int rank) {
+        return lowStock[rank];
+    }
+
+    public int recipeStart(int p) {
+        return recipeOffsets[p];
+    }
+
+    public int recipeEnd(int p) {
+        return recipeOffsets[p + 1];
+    }
+
+    public int recipeMaterial(int line) {
+        return recipeMaterials[line];
+    }
+
+    public int recipeQuantity(int line) {
+        return recipeQuantities[line];
+    }
+
+    public int usageStart(int m) {
+        return usageOffsets[m];
+    }
+
+    public int usageEnd(int m) {
+        return usageOffsets[m + 1];
+    }
+
+    public int usageProduct(int i) {
+        return usageProducts[i];
+    }
+
+    public int productCount() {
+        return productIds.length;
+    }
+
+    public int materialCount() {
+        return materialIds.length;
+    }
+
+    public int recipeLineCount() {
+        return recipeMaterials.length;
+    }
+
+    public long productId(int p) {
+        return productIds[p];
+    }
+
+    public String productName(int p) {
+        return productNames[p];
+    }
+
+    public BigDecimal productPrice(int p) {
+        return productPrices[p];
+    }
+
+    /**
+     * Ordinal of the product at {@code rank} in price-descending order.
+     */
+    public int productByPrice(int rank) {
+        return priceOrder[rank];
+    }
+
+    public Integer productOrdinal(Long productId) {
+        return productOrdinals.get(productId);
+    }
+
+    public long materialId(int m) {
+        return materialIds[m];
+    }
+
+    public String materialName(int m) {
+        return materialNames[m];
+    }
+
+    public BigDecimal materialCost(int m) {
+        return materialCosts[m];
+    }
+
+    public Integer materialOrdinal(Long materialId) {
+        return materialOrdinals.get(materialId);
+    }
+
+    public int stock(int m) {
+        return stock[m];
+    }
+
+    public int[] stockSnapshot() {
+        return stock.clone();
+    }
+
+    public int[] producibleSnapshot() {
+        return producible.clone();
+    }
+
+    private BigDecimal valueOf(int p, int quantity) {
+        return quantity > 0 ? productPrices[p].multiply(BigDecimal.valueOf(quantity)) : BigDecimal.ZERO;
+    }
+
+    private boolean higherCapacity(int p, int current) {
+        if (producible[p] <= 0) {
+            return false;
+        }
+        return current < 0 || producible[p] > producible[current]
+                || (producible[p] == producible[current] && productIds[p] < productIds[current]);
+    }
+
+    // Drops the changed materials from the previous list and adds back those still below the threshold
+    private int[] patchLowStock(int[] previous, Set<Integer> changed) {
+        int[] patched = new int[previous.length + changed.size()];
+        int count = 0;
+        for (int m : previous) {
+            if (!changed.contains(m)) {
+                patched[count++] = m;
+            }
+        }
+        for (int m : changed) {
+            if (stock[m] < lowStockThreshold) {
+                patched[count++] = m;
+            }
+        }
+        return sortByStock(Arrays.copyOf(patched, count));
+    }
+
+    private int[] sortByStock(int[] materials) {
+        return Arrays.stream(materials).boxed()
+                .sorted(Comparator.<Integer>comparingInt(m -> stock[m]).thenComparingLong(m -> materialIds[m]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
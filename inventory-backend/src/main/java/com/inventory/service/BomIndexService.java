@@ -0,0 +1,138 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.event.CatalogChangedEvent;
+import com.inventory.repository.ProductComponentRepository;
+import com.inventory.repository.ProductRawMaterialRepository;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.RawMaterialRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the compiled {@link BomIndex} and with it the materialized simulation
+ * state. The index is built lazily on first use, patched for stock-only changes
+ * (recomputing only the products that use the changed materials) and rebuilt
+ * after any structural change to products, raw materials or recipes.
+ */
+@Service
+@Slf4j
+public class BomIndexService {
+
+    private final ProductRepository productRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final ProductRawMaterialRepository productRawMaterialRepository;
+    private final ProductComponentRepository productComponentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int lowStockThreshold;
+    private final SimulationMetrics simulationMetrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Memoized sub-assembly explosions, guarded by lock
+    private final BomExplosion explosion = new BomExplosion();
+
+    private volatile BomIndex index;
+
+    public BomIndexService(ProductRepository productRepository,
+                           RawMaterialRepository rawMaterialRepository,
+                           ProductRawMaterialRepository productRawMaterialRepository,
+                           ProductComponentRepository productComponentRepository,
+                           PlatformTransactionManager transactionManager,
+                           InventoryProperties properties,
+                           SimulationMetrics simulationMetrics) {
+        this.productRepository = productRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.productRawMaterialRepository = productRawMaterialRepository;
+        this.productComponentRepository = productComponentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lowStockThreshold = properties.getDashboard().getLowStockThreshold();
+        this.simulationMetrics = simulationMetrics;
+    }
+
+    public BomIndex getIndex() {
+        BomIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    // Materialize the state at startup so the first poll does not pay for the build
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        getIndex();
+    }
+
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Serialized with rebuild(): a build that read pre-commit data is patched or dropped here
+        lock.lock();
+        try {
+            BomIndex current = index;
+            switch (event.getKind()) {
+                case STOCK -> {
+                    if (current != null) {
+                        index = current.withStock(event.getStockQuantities(), event.getStockVersions());
+                        log.debug("Estoque atualizado no indice BOM: {}", event.getStockQuantities());
+                    }
+                    return;
+                }
+                case PRODUCT, RECIPE -> explosion.invalidate(event.getEntityId());
+                // Deleting a material drops its recipe lines; material ids of cached explosions
+                // that no longer exist are skipped at compile time, so nothing to invalidate
+                case RAW_MATERIAL -> { }
+                case CATALOG -> explosion.invalidateAll();
+            }
+            index = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BomIndex rebuild() {
+        // A lock rather than a monitor: the build runs JDBC, which would pin a virtual thread
+        lock.lock();
+        try {
+            if (index != null) {
+                return index;
+            }
+            long start = System.nanoTime();
+            BomIndex built = readOnlyTransaction.execute(status -> {
+                List<Object[]> products = productRepository.findAllForIndex();
+                List<Object[]> recipeLines = productRawMaterialRepository.findAllForIndex();
+                List<Object[]> components = productComponentRepository.findAllForIndex();
+                List<Object[]> materials = rawMaterialRepository.findAllForIndex();
+                long loaded = System.nanoTime();
+                simulationMetrics.load(loaded - start);
+
+                List<Long> productIds = new ArrayList<>(products.size());
+                for (Object[] row : products) {
+                    productIds.add((Long) row[0]);
+                }
+                Map<Long, BomExplosion.Recipe> recipes = explosion.explode(productIds, recipeLines, components);
+                BomIndex compiled = BomIndex.compile(products, materials, recipes, lowStockThreshold);
+                simulationMetrics.index(System.nanoTime() - loaded);
+                return compiled;
+            });
+            index = built;
+            log.info("Indice BOM compilado: {} produtos, {} materias-primas, {} linhas de receita em {} ms",
+                    built.productCount(), built.materialCount(), built.recipeLineCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return built;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.service;
+
+import com.inventory.config.CacheConfig;
+import com.inventory.event.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the read caches touched by a committed catalog change. Every write
+ * path already publishes a {@link CatalogChangedEvent}, including production
+ * orders, imports and ledger flushes, so they all invalidate through here.
+ * <p>
+ * Cache keys are the {@link CatalogVersion} tag the entry was read at (the
+ * version and the epoch of the process), so a read racing with a write can only
+ * store its result under the old version and is never served once the version
+ * moves on (which would also pin a stale body to a fresh ETag). Eviction here
+ * frees those entries; stock changes leave the structure-only caches alone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogCacheInvalidator {
+
+    private static final String[] STOCK_CACHES = {
+            CacheConfig.RAW_MATERIALS, CacheConfig.RAW_MATERIAL, CacheConfig.SIMULATION
+    };
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getKind() == CatalogChangedEvent.Kind.STOCK) {
+            clear(STOCK_CACHES);
+        } else {
+            clear(CacheConfig.CACHE_NAMES);
+        }
+        log.debug("Caches invalidados por alteracao de catalogo {} {}", event.getKind(), event.getEntityId());
+    }
+
+    private void clear(String... names) {
+        for (String name : names) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
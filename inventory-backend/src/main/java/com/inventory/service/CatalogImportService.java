@@ -0,0 +1,232 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ImportResultDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductRawMaterialDTO;
+import com.inventory.dto.RawMaterialDTO;
+import com.inventory.event.CatalogChangedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.RawMaterialRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loads the catalog. Rows are read from the request body as they arrive,
+ * validated with the same constraints as the single-row endpoints and inserted
+ * with JDBC batches, bypassing the persistence context. Recipe rows may
+ * reference products and raw materials by id or by name; both are resolved
+ * from one query per table before the first row is read. Each import runs in
+ * one transaction, so a bad row rolls the whole file back. Imported raw
+ * materials are journaled like those created one by one, so history before the
+ * import does not show them with their imported stock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogImportService {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (name, price) VALUES (?, ?)";
+    private static final String INSERT_RAW_MATERIAL =
+            "INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES (?, ?, ?)";
+    private static final String INSERT_PRODUCT_RAW_MATERIAL =
+            "INSERT INTO product_raw_materials (product_id, raw_material_id, quantity) VALUES (?, ?, ?)";
+
+    // Marks a name shared by more than one row, which cannot be used as a reference
+    private static final Long AMBIGUOUS = -1L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRepository productRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final InventoryProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockMovementJournal stockMovementJournal;
+
+    @Transactional
+    public ImportResultDTO importProducts(InputStream body, ImportFormat format) {
+        return runImport("products", body, format, ProductDTO.class,
+                batch -> jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch),
+                dto -> new Object[]{dto.getName().trim(), dto.getPrice()});
+    }
+
+    @Transactional
+    public ImportResultDTO importRawMaterials(InputStream body, ImportFormat format) {
+        return runImport("raw-materials", body, format, RawMaterialDTO.class, this::insertRawMaterials,
+                dto -> new Object[]{dto.getName().trim(), dto.getStockQuantity(),
+                        dto.getUnitCost() != null ? dto.getUnitCost() : BigDecimal.ZERO});
+    }
+
+    @Transactional
+    public ImportResultDTO importProductRawMaterials(InputStream body, ImportFormat format) {
+        References products = references(productRepository.findAllForIndex());
+        References rawMaterials = references(rawMaterialRepository.findAllForIndex());
+        return runImport("product-raw-materials", body, format, ProductRawMaterialDTO.class,
+                batch -> jdbcTemplate.batchUpdate(INSERT_PRODUCT_RAW_MATERIAL, batch), dto -> {
+                    dto.setProductId(products.resolve(dto.getProductId(), dto.getProductName(), "Product"));
+                    dto.setRawMaterialId(rawMaterials.resolve(dto.getRawMaterialId(), dto.getRawMaterialName(),
+                            "RawMaterial"));
+                },
+                dto -> new Object[]{dto.getProductId(), dto.getRawMaterialId(), dto.getQuantity()});
+    }
+
+    private <T> ImportResultDTO runImport(String entity, InputStream body, ImportFormat format, Class<T> type,
+                                          Consumer<List<Object[]>> insert, Function<T, Object[]> toParameters) {
+        return runImport(entity, body, format, type, insert, dto -> { }, toParameters);
+    }
+
+    private <T> ImportResultDTO runImport(String entity, InputStream body, ImportFormat format, Class<T> type,
+                                          Consumer<List<Object[]>> insert, Consumer<T> resolve,
+                                          Function<T, Object[]> toParameters) {
+        int batchSize = properties.getImports().getBatchSize();
+        long start = System.nanoTime();
+        long rows = 0;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            ImportRowReader<T> rowReader = new ImportRowReader<>(reader, format, type, objectMapper);
+            for (T dto = rowReader.next(); dto != null; dto = rowReader.next()) {
+                try {
+                    resolve.accept(dto);
+                } catch (BadRequestException e) {
+                    throw new BadRequestException(String.format("Linha %d: %s", rowReader.lineNumber(),
+                            e.getMessage()));
+                }
+                validate(dto, rowReader.lineNumber());
+                batch.add(toParameters.apply(dto));
+                if (batch.size() == batchSize) {
+                    insert.accept(batch);
+                    rows += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!batch.isEmpty()) {
+            insert.accept(batch);
+            rows += batch.size();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        long rowsPerSecond = elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+        log.info("Importacao de {} concluida: {} linhas em {} ms ({} linhas/s)",
+                entity, rows, elapsedNanos / 1_000_000, rowsPerSecond);
+        if (rows > 0) {
+            eventPublisher.publishEvent(CatalogChangedEvent.catalog());
+        }
+        return ImportResultDTO.builder()
+                .entity(entity)
+                .format(format.name())
+                .rowsImported(rows)
+                .elapsedMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    // Generated ids are read back to journal each material's initial stock once the import commits
+    private void insertRawMaterials(List<Object[]> batch) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_RAW_MATERIAL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(batch.get(i)).setValues(statement);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        List<StockJournal.Record> records = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            long id = ((Number) ids.get(i).values().iterator().next()).longValue();
+            int stock = (Integer) batch.get(i)[1];
+            // New rows start at version 0, like a material created through the endpoint
+            records.add(new StockJournal.Record(id, stock, stock, 0, StockMovementReason.ADJUSTMENT));
+        }
+        stockMovementJournal.recordAfterCommit(records);
+    }
+
+    private <T> void validate(T dto, long lineNumber) {
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String messages = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new BadRequestException(String.format("Linha %d: %s", lineNumber, messages));
+        }
+    }
+
+    // Rows of [id, name, ...] from the findAllForIndex queries
+    private static References references(List<Object[]> rows) {
+        Map<Long, Long> ids = new HashMap<>(rows.size() * 2);
+        Map<String, Long> names = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            ids.put(id, id);
+            names.merge(((String) row[1]).trim(), id, (existing, duplicate) -> AMBIGUOUS);
+        }
+        return new References(ids, names);
+    }
+
+    @RequiredArgsConstructor
+    private static final class References {
+
+        private final Map<Long, Long> ids;
+        private final Map<String, Long> names;
+
+        Long resolve(Long id, String name, String resourceName) {
+            if (id != null) {
+                if (!ids.containsKey(id)) {
+                    throw new BadRequestException(String.format("%s nao encontrado com id: '%s'", resourceName, id));
+                }
+                return id;
+            }
+            if (name == null) {
+                return null;
+            }
+            Long resolved = names.get(name.trim());
+            if (resolved == null) {
+                throw new BadRequestException(String.format("%s nao encontrado com nome: '%s'", resourceName, name));
+            }
+            if (AMBIGUOUS.equals(resolved)) {
+                throw new BadRequestException(String.format("Nome ambiguo para %s: '%s'", resourceName, name));
+            }
+            return resolved;
+        }
+    }
+}
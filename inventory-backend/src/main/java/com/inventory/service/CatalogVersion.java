@@ -0,0 +1,62 @@
+package com.inventory.service;
+
+import com.inventory.event.CatalogChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic versions of the catalog, bumped after every committed change.
+ * {@link #structure()} only moves on product, raw material and recipe changes;
+ * {@link #current()} also moves on stock changes. Readers take the version
+ * before reading the data, so a response is never labeled newer than its
+ * content. Versions restart with the process, so tags carry a per-process epoch.
+ * Tags are also the cache keys of the catalog reads: a cache shared by several
+ * processes, or kept across a restart, never serves one process's entry to another.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong structure = new AtomicLong();
+    private final AtomicLong current = new AtomicLong();
+
+    public long structure() {
+        return structure.get();
+    }
+
+    public long current() {
+        return current.get();
+    }
+
+    /**
+     * For stock changes that reach readers without a catalog event, such as
+     * ledger updates before their flush.
+     */
+    public void stockChanged() {
+        current.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getKind() != CatalogChangedEvent.Kind.STOCK) {
+            structure.incrementAndGet();
+        }
+        current.incrementAndGet();
+    }
+
+    /**
+     * Strong ETag of a representation that only depends on the catalog structure.
+     */
+    public String structureTag() {
+        return "\"" + epoch + "-s" + structure() + "\"";
+    }
+
+    /**
+     * Strong ETag of a representation that also depends on stock levels.
+     */
+    public String currentTag() {
+        return "\"" + epoch + "-c" + current() + "\"";
+    }
+}
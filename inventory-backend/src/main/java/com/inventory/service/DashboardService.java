@@ -0,0 +1,78 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.DashboardSummaryDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductionSimulationDTO;
+import com.inventory.dto.RawMaterialDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dashboard figures read from the aggregates the {@link BomIndex} keeps next to
+ * its stock and producible arrays. Stock writes patch them for the changed
+ * materials only, so a summary costs the same for any catalog size; structural
+ * changes recompute them with the rest of the index.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private final BomIndexService bomIndexService;
+    private final InventoryProperties properties;
+
+    public DashboardSummaryDTO getSummary() {
+        BomIndex index = bomIndexService.getIndex();
+
+        int lowStockShown = Math.min(index.lowStockCount(), properties.getDashboard().getLowStockLimit());
+        List<RawMaterialDTO> lowStock = new ArrayList<>(lowStockShown);
+        for (int rank = 0; rank < lowStockShown; rank++) {
+            int m = index.lowStockMaterial(rank);
+            lowStock.add(RawMaterialDTO.builder()
+                    .id(index.materialId(m))
+                    .name(index.materialName(m))
+                    .stockQuantity(index.stock(m))
+                    .unitCost(index.materialCost(m))
+                    .build());
+        }
+
+        ProductDTO mostExpensive = null;
+        if (index.productCount() > 0) {
+            int top = index.productByPrice(0);
+            mostExpensive = ProductDTO.builder()
+                    .id(index.productId(top))
+                    .name(index.productName(top))
+                    .price(index.productPrice(top))
+                    .build();
+        }
+
+        ProductionSimulationDTO highestCapacity = null;
+        int p = index.highestCapacityProduct();
+        if (p >= 0) {
+            BigDecimal price = index.productPrice(p);
+            highestCapacity = ProductionSimulationDTO.builder()
+                    .productId(index.productId(p))
+                    .productName(index.productName(p))
+                    .price(price)
+                    .quantityPossible(index.producible(p))
+                    .totalValue(price.multiply(BigDecimal.valueOf(index.producible(p))))
+                    .build();
+        }
+
+        return DashboardSummaryDTO.builder()
+                .productCount(index.productCount())
+                .rawMaterialCount(index.materialCount())
+                .totalStock(index.totalStock())
+                .producibleValue(index.producibleValue())
+                .mostExpensiveProduct(mostExpensive)
+                .highestCapacityProduct(highestCapacity)
+                .lowStockThreshold(index.lowStockThreshold())
+                .lowStockCount(index.lowStockCount())
+                .lowStockMaterials(lowStock)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventory.service;
+
+import com.inventory.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    // One JSON array
+    JSON("application/json"),
+
+    // One JSON object per line
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    public static ExportFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("Formato de exportacao invalido: '%s'. Valores aceitos: %s",
+                    value, Arrays.toString(values())));
+        }
+    }
+}
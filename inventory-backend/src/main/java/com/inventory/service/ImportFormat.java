@@ -0,0 +1,28 @@
+package com.inventory.service;
+
+import com.inventory.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+
+    // Header line with the DTO field names, then one row per line
+    CSV,
+
+    // One JSON object per line with the DTO field names
+    NDJSON;
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if ("csv".equalsIgnoreCase(mediaType.getSubtype())) {
+                return CSV;
+            }
+            if ("x-ndjson".equalsIgnoreCase(mediaType.getSubtype())) {
+                return NDJSON;
+            }
+        }
+        throw new BadRequestException(String.format(
+                "Content-Type de importacao invalido: '%s'. Valores aceitos: text/csv, application/x-ndjson",
+                contentType));
+    }
+}
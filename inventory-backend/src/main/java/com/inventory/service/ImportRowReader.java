@@ -0,0 +1,107 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import body one row at a time into the given DTO type. CSV rows are
+ * mapped by the header line; quoted fields may contain commas and doubled
+ * quotes, but not line breaks. Blank lines are skipped.
+ */
+class ImportRowReader<T> {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final Class<T> type;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    ImportRowReader(BufferedReader reader, ImportFormat format, Class<T> type, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.type = type;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Next row, or {@code null} at the end of the input.
+     */
+    T next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        if (format == ImportFormat.NDJSON) {
+            try {
+                return objectMapper.readValue(line, type);
+            } catch (JsonProcessingException e) {
+                throw new BadRequestException(String.format("Linha %d: JSON invalido", lineNumber));
+            }
+        }
+        if (header == null) {
+            header = splitCsv(line).stream().map(String::trim).toList();
+            return next();
+        }
+        List<String> values = splitCsv(line);
+        if (values.size() != header.size()) {
+            throw new BadRequestException(String.format("Linha %d: esperadas %d colunas, encontradas %d",
+                    lineNumber, header.size(), values.size()));
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        try {
+            return objectMapper.convertValue(fields, type);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("Linha %d: valores invalidos", lineNumber));
+        }
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    private List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,72 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.PageResponse;
+import com.inventory.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Seek pagination over ascending ids. The cursor encodes the last id of the
+ * previous page, so each page is an index range scan ({@code WHERE id > ?})
+ * whose cost does not grow with the page number. Queries fetch one row more
+ * than the page size to know whether a next page exists.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPagination {
+
+    private static final String PREFIX = "id:";
+
+    private final InventoryProperties properties;
+
+    public int resolveSize(Integer size) {
+        InventoryProperties.Pagination pagination = properties.getPagination();
+        if (size == null) {
+            return pagination.getDefaultSize();
+        }
+        if (size < 1 || size > pagination.getMaxSize()) {
+            throw new BadRequestException(String.format(
+                    "O parametro size deve estar entre 1 e %d", pagination.getMaxSize()));
+        }
+        return size;
+    }
+
+    /**
+     * Id after which the page starts, 0 for the first page.
+     */
+    public long decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor de paginacao invalido");
+        }
+    }
+
+    /**
+     * @param rows up to {@code size + 1} rows ordered by id
+     */
+    public <T> PageResponse<T> toPage(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new PageResponse<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        Long lastId = idOf.apply(items.get(size - 1));
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+        return new PageResponse<>(List.copyOf(items), cursor);
+    }
+}
@@ -0,0 +1,134 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProcurementItemDTO;
+import com.inventory.dto.ProcurementPlanDTO;
+import com.inventory.dto.ProductTargetDTO;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Recommends the raw material purchase that makes a set of product targets
+ * feasible, solved jointly over the BOM index by {@link ProcurementSolver}.
+ * Stock is the same the simulation uses.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProcurementService {
+
+    private final BomIndexService bomIndexService;
+    private final StockLedger stockLedger;
+    private final InventoryProperties properties;
+
+    public ProcurementPlanDTO recommend(List<ProductTargetDTO> targets, Long timeBudgetMs) {
+        return recommend(targets, timeBudgetMs, progress -> { });
+    }
+
+    /**
+     * @param progress receives the fraction of targets processed, for background jobs
+     */
+    public ProcurementPlanDTO recommend(List<ProductTargetDTO> targets, Long timeBudgetMs, DoubleConsumer progress) {
+        long budget = resolveTimeBudget(timeBudgetMs);
+        int maxTargets = properties.getProcurement().getMaxTargets();
+        if (targets == null || targets.isEmpty()) {
+            throw new BadRequestException("Informe ao menos uma meta de producao");
+        }
+        if (targets.size() > maxTargets) {
+            throw new BadRequestException(String.format("Maximo de %d metas por requisicao", maxTargets));
+        }
+
+        // Repeated products are merged, in order of first appearance
+        BomIndex index = bomIndexService.getIndex();
+        int[] slotOf = new int[index.productCount()];
+        Arrays.fill(slotOf, -1);
+        int[] products = new int[targets.size()];
+        int[] quantities = new int[targets.size()];
+        int count = 0;
+        int withoutRecipe = 0;
+        for (ProductTargetDTO target : targets) {
+            Integer p = index.productOrdinal(target.getProductId());
+            if (p == null) {
+                throw new ResourceNotFoundException("Product", "id", target.getProductId());
+            }
+            if (slotOf[p] < 0) {
+                slotOf[p] = count;
+                products[count++] = p;
+                if (index.recipeStart(p) == index.recipeEnd(p)) {
+                    withoutRecipe++;
+                }
+            }
+            int slot = slotOf[p];
+            quantities[slot] = (int) Math.min(Integer.MAX_VALUE, (long) quantities[slot] + target.getQuantity());
+        }
+        products = Arrays.copyOf(products, count);
+        quantities = Arrays.copyOf(quantities, count);
+
+        int[] stock = stockLedger.isEnabled() ? stockLedger.stockSnapshot(index) : index.stockSnapshot();
+        ProcurementSolver.Result result = new ProcurementSolver(index)
+                .solve(products, quantities, stock, TimeUnit.MILLISECONDS.toNanos(budget), progress);
+
+        List<ProcurementItemDTO> items = new ArrayList<>();
+        BigDecimal totalCost = BigDecimal.ZERO;
+        for (int m = 0; m < index.materialCount(); m++) {
+            long purchase = result.getPurchase()[m];
+            if (purchase <= 0) {
+                continue;
+            }
+            BigDecimal unitCost = index.materialCost(m);
+            BigDecimal cost = unitCost.multiply(BigDecimal.valueOf(purchase));
+            totalCost = totalCost.add(cost);
+            items.add(ProcurementItemDTO.builder()
+                    .rawMaterialId(index.materialId(m))
+                    .rawMaterialName(index.materialName(m))
+                    .unitCost(unitCost)
+                    .stockQuantity(stock[m])
+                    .requiredQuantity(result.getRequired()[m])
+                    .purchaseQuantity(purchase)
+                    .cost(cost)
+                    .build());
+        }
+        items.sort(Comparator.comparing(ProcurementItemDTO::getCost).reversed()
+                .thenComparing(ProcurementItemDTO::getRawMaterialId));
+
+        long solveTimeMs = TimeUnit.NANOSECONDS.toMillis(result.getSolveTimeNanos());
+        log.info("Recomendacao de compra: {} metas, {} materias-primas a comprar, custo {} em {} ms ({})",
+                count, items.size(), totalCost, solveTimeMs, result.getStatus());
+
+        return ProcurementPlanDTO.builder()
+                .items(items)
+                .totalCost(totalCost)
+                .status(result.getStatus().name())
+                .targetCount(count)
+                .targetsCovered(result.getTargetsCovered())
+                .targetsWithoutRecipe(withoutRecipe)
+                .solveTimeMs(solveTimeMs)
+                .build();
+    }
+
+    /**
+     * The requested budget, or the configured default when absent.
+     *
+     * @throws BadRequestException when it is outside 1..{@code max-time-budget-ms}
+     */
+    public long resolveTimeBudget(Long timeBudgetMs) {
+        InventoryProperties.Procurement config = properties.getProcurement();
+        long budget = timeBudgetMs != null ? timeBudgetMs : config.getTimeBudgetMs();
+        if (budget <= 0 || budget > config.getMaxTimeBudgetMs()) {
+            throw new BadRequestException(String.format(
+                    "O parametro timeBudgetMs deve estar entre 1 e %d", config.getMaxTimeBudgetMs()));
+        }
+        return budget;
+    }
+}
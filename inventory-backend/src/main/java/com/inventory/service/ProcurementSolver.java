@@ -0,0 +1,89 @@
+package com.inventory.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Smallest raw material purchase that makes a set of production targets
+ * feasible against the current stock. Recipes are fixed (no alternative
+ * materials), so the requirement of a material is the sum over all targets of
+ * quantity times its exploded recipe line, and the purchase is its shortfall
+ * against the stock: every feasible purchase buys at least that much of each
+ * material, so it is also the cheapest at any unit costs. Targets are summed
+ * before the stock is subtracted, so stock shared by several products is only
+ * counted once. Linear in the recipe lines of the targeted products.
+ */
+public final class ProcurementSolver {
+
+    public enum Status {
+        COMPLETE,
+        TIME_LIMIT
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Result {
+        // Indexed by material ordinal of the BomIndex
+        private final long[] required;
+        private final long[] purchase;
+
+        // Targets included in required; less than all of them only on TIME_LIMIT
+        private final int targetsCovered;
+        private final long solveTimeNanos;
+        private final Status status;
+    }
+
+    // Targets between deadline checks and progress reports
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final BomIndex index;
+
+    public ProcurementSolver(BomIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * @param products   product ordinals of the targets, without duplicates
+     * @param quantities target quantity of each of them
+     * @param stock      stock levels by material ordinal
+     * @param progress   receives the fraction of targets processed
+     */
+    public Result solve(int[] products, int[] quantities, int[] stock, long budgetNanos, DoubleConsumer progress) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        long[] required = new long[index.materialCount()];
+
+        int covered = 0;
+        Status status = Status.COMPLETE;
+        for (int t = 0; t < products.length; t++) {
+            if (t % CHECK_INTERVAL == 0 && t > 0) {
+                progress.accept((double) t / products.length);
+                if (System.nanoTime() - deadline > 0) {
+                    status = Status.TIME_LIMIT;
+                    break;
+                }
+            }
+            int p = products[t];
+            long quantity = quantities[t];
+            for (int i = index.recipeStart(p); i < index.recipeEnd(p); i++) {
+                int m = index.recipeMaterial(i);
+                required[m] = saturatedAdd(required[m], quantity * index.recipeQuantity(i));
+            }
+            covered++;
+        }
+
+        long[] purchase = new long[required.length];
+        for (int m = 0; m < required.length; m++) {
+            purchase[m] = Math.max(0, required[m] - Math.max(0, stock[m]));
+        }
+        progress.accept(1);
+        return new Result(required, purchase, covered, System.nanoTime() - start, status);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,126 @@
+package com.inventory.service;
+
+import com.inventory.dto.ProductComponentDTO;
+import com.inventory.entity.Product;
+import com.inventory.entity.ProductComponent;
+import com.inventory.event.CatalogChangedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ConflictException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.mapper.ProductComponentMapper;
+import com.inventory.repository.ProductComponentRepository;
+import com.inventory.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class ProductComponentService {
+
+    // Concurrent inserts can deadlock on the product locks of the cycle check; the victim starts over
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ProductComponentRepository productComponentRepository;
+    private final ProductRepository productRepository;
+    private final ProductComponentMapper productComponentMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+
+    public ProductComponentService(ProductComponentRepository productComponentRepository,
+                                   ProductRepository productRepository,
+                                   ProductComponentMapper productComponentMapper,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.productComponentRepository = productComponentRepository;
+        this.productRepository = productRepository;
+        this.productComponentMapper = productComponentMapper;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public ProductComponentDTO createProductComponent(ProductComponentDTO dto) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> insert(dto));
+            } catch (TransientDataAccessException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new ConflictException(String.format(
+                            "Componente %d nao incluido no produto %d apos %d tentativas por concorrencia",
+                            dto.getComponentId(), dto.getProductId(), attempt));
+                }
+            }
+        }
+    }
+
+    private ProductComponentDTO insert(ProductComponentDTO dto) {
+        Product product = productRepository.findById(dto.getProductId())
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", dto.getProductId()));
+
+        Product component = productRepository.findById(dto.getComponentId())
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", dto.getComponentId()));
+
+        if (createsCycle(product.getId(), component.getId())) {
+            throw new BadRequestException(String.format(
+                    "O componente %s criaria um ciclo na estrutura do produto %s",
+                    component.getName(), product.getName()));
+        }
+
+        ProductComponent productComponent = ProductComponent.builder()
+                .product(product)
+                .component(component)
+                .quantity(dto.getQuantity())
+                .build();
+
+        ProductComponent saved = productComponentRepository.save(productComponent);
+        eventPublisher.publishEvent(CatalogChangedEvent.recipe(product.getId()));
+        return productComponentMapper.toDTO(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductComponentDTO> getAllProductComponents() {
+        List<ProductComponent> list = productComponentRepository.findAllWithDetails();
+        return productComponentMapper.toDTOList(list);
+    }
+
+    @Transactional
+    public void deleteProductComponent(Long id) {
+        ProductComponent productComponent = productComponentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductComponent", "id", id));
+        Long productId = productComponent.getProduct().getId();
+        productComponentRepository.delete(productComponent);
+        eventPublisher.publishEvent(CatalogChangedEvent.recipe(productId));
+    }
+
+    // Adding product -> component closes a cycle when product is reachable from component. The product
+    // and every product whose components the walk read stay locked until commit: a concurrent insert
+    // below the component locks its own parent, one of those rows, so it waits and then sees this edge
+    private boolean createsCycle(Long productId, Long componentId) {
+        if (productId.equals(componentId)) {
+            return true;
+        }
+        Set<Long> locked = new HashSet<>();
+        while (true) {
+            List<Long> reachable = productComponentRepository.findDescendantIds(componentId);
+            if (reachable.contains(productId)) {
+                return true;
+            }
+            // Walk again after locking: the components of a newly locked product may have changed meanwhile
+            Set<Long> unlocked = new TreeSet<>(reachable);
+            unlocked.add(productId);
+            unlocked.removeAll(locked);
+            if (unlocked.isEmpty()) {
+                return false;
+            }
+            productRepository.lockByIds(unlocked);
+            locked.addAll(unlocked);
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package com.inventory.service;
 
+import com.inventory.config.CacheConfig;
+import com.inventory.dto.PageResponse;
 import com.inventory.dto.ProductRawMaterialDTO;
 import com.inventory.entity.Product;
 import com.inventory.entity.ProductRawMaterial;
 import com.inventory.entity.RawMaterial;
+import com.inventory.event.CatalogChangedEvent;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.mapper.ProductRawMaterialMapper;
 import com.inventory.repository.ProductRawMaterialRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.RawMaterialRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -23,6 +30,9 @@ public class ProductRawMaterialService {
     private final ProductRepository productRepository;
     private final RawMaterialRepository rawMaterialRepository;
     private final ProductRawMaterialMapper productRawMaterialMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPagination keysetPagination;
+    private final CatalogExporter catalogExporter;
 
     @Transactional
     public ProductRawMaterialDTO createProductRawMaterial(ProductRawMaterialDTO dto) {
@@ -39,20 +49,35 @@ public class ProductRawMaterialService {
                 .build();
 
         ProductRawMaterial saved = productRawMaterialRepository.save(productRawMaterial);
+        eventPublisher.publishEvent(CatalogChangedEvent.recipe(product.getId()));
         return productRawMaterialMapper.toDTO(saved);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_RAW_MATERIALS, key = "@catalogVersion.structureTag()")
     @Transactional(readOnly = true)
     public List<ProductRawMaterialDTO> getAllProductRawMaterials() {
         List<ProductRawMaterial> list = productRawMaterialRepository.findAllWithDetails();
         return productRawMaterialMapper.toDTOList(list);
     }
 
+    @Transactional(readOnly = true)
+    public PageResponse<ProductRawMaterialDTO> getProductRawMaterialsPage(String cursor, Integer size) {
+        int pageSize = keysetPagination.resolveSize(size);
+        List<ProductRawMaterialDTO> rows = productRawMaterialRepository.findPageAfter(
+                keysetPagination.decode(cursor), Limit.of(pageSize + 1));
+        return keysetPagination.toPage(rows, pageSize, ProductRawMaterialDTO::getId);
+    }
+
+    public void exportProductRawMaterials(ExportFormat format, OutputStream out) {
+        catalogExporter.export(productRawMaterialRepository::streamAllProjected, format, out);
+    }
+
     @Transactional
     public void deleteProductRawMaterial(Long id) {
-        if (!productRawMaterialRepository.existsById(id)) {
-            throw new ResourceNotFoundException("ProductRawMaterial", "id", id);
-        }
-        productRawMaterialRepository.deleteById(id);
+        ProductRawMaterial productRawMaterial = productRawMaterialRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductRawMaterial", "id", id));
+        Long productId = productRawMaterial.getProduct().getId();
+        productRawMaterialRepository.delete(productRawMaterial);
+        eventPublisher.publishEvent(CatalogChangedEvent.recipe(productId));
     }
 }
@@ -1,14 +1,21 @@
 package com.inventory.service;
 
+import com.inventory.config.CacheConfig;
+import com.inventory.dto.PageResponse;
 import com.inventory.dto.ProductDTO;
 import com.inventory.entity.Product;
+import com.inventory.event.CatalogChangedEvent;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.mapper.ProductMapper;
 import com.inventory.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -17,25 +24,41 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPagination keysetPagination;
+    private final CatalogExporter catalogExporter;
 
     @Transactional
     public ProductDTO createProduct(ProductDTO productDTO) {
         Product product = productMapper.toEntity(productDTO);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.product(savedProduct.getId()));
         return productMapper.toDTO(savedProduct);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "@catalogVersion.structureTag()")
     @Transactional(readOnly = true)
     public List<ProductDTO> getAllProducts() {
-        List<Product> products = productRepository.findAll();
-        return productMapper.toDTOList(products);
+        return productRepository.findAllProjected();
     }
 
+    @Transactional(readOnly = true)
+    public PageResponse<ProductDTO> getProductsPage(String cursor, Integer size) {
+        int pageSize = keysetPagination.resolveSize(size);
+        List<ProductDTO> rows = productRepository.findPageAfter(
+                keysetPagination.decode(cursor), Limit.of(pageSize + 1));
+        return keysetPagination.toPage(rows, pageSize, ProductDTO::getId);
+    }
+
+    public void exportProducts(ExportFormat format, OutputStream out) {
+        catalogExporter.export(productRepository::streamAllProjected, format, out);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCT, key = "{@catalogVersion.structureTag(), #id}")
     @Transactional(readOnly = true)
     public ProductDTO getProductById(Long id) {
-        Product product = productRepository.findById(id)
+        return productRepository.findProjectedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-        return productMapper.toDTO(product);
     }
 
     @Transactional
@@ -47,6 +70,7 @@ public class ProductService {
         existingProduct.setPrice(productDTO.getPrice());
 
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(CatalogChangedEvent.product(id));
         return productMapper.toDTO(updatedProduct);
     }
 
@@ -56,5 +80,6 @@ public class ProductService {
             throw new ResourceNotFoundException("Product", "id", id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.product(id));
     }
 }
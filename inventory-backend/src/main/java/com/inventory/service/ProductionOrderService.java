@@ -0,0 +1,188 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.MaterialConsumptionDTO;
+import com.inventory.dto.ProductionOrderDTO;
+import com.inventory.dto.ProductionOrderResultDTO;
+import com.inventory.event.CatalogChangedEvent;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ConflictException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.RawMaterialRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Consumes the raw materials needed to produce a quantity of a product. Every
+ * material is taken with a conditional update that only succeeds while enough
+ * stock is left, so stock never goes negative and concurrent orders never
+ * overwrite each other; if any material falls short the whole order rolls
+ * back. Requirements come from the exploded recipes of the BOM index, so
+ * sub-assemblies are consumed as their raw materials. With the stock ledger
+ * enabled the order is taken from the ledger instead of the database.
+ */
+@Service
+@Slf4j
+public class ProductionOrderService {
+
+    private final BomIndexService bomIndexService;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InventoryProperties properties;
+    private final StockLedger stockLedger;
+    private final StockMovementJournal stockMovementJournal;
+    private final TransactionTemplate transaction;
+
+    public ProductionOrderService(BomIndexService bomIndexService,
+                                  RawMaterialRepository rawMaterialRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  InventoryProperties properties,
+                                  StockLedger stockLedger,
+                                  StockMovementJournal stockMovementJournal,
+                                  PlatformTransactionManager transactionManager) {
+        this.bomIndexService = bomIndexService;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.stockLedger = stockLedger;
+        this.stockMovementJournal = stockMovementJournal;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public ProductionOrderResultDTO produce(ProductionOrderDTO order) {
+        BomIndex index = bomIndexService.getIndex();
+        Integer p = index.productOrdinal(order.getProductId());
+        if (p == null) {
+            throw new ResourceNotFoundException("Product", "id", order.getProductId());
+        }
+        String productName = index.productName(p);
+        if (index.recipeStart(p) == index.recipeEnd(p)) {
+            throw new BadRequestException(String.format("O produto %s nao possui receita", productName));
+        }
+
+        // Sorted by material id: all orders lock the rows in the same sequence, so they cannot deadlock
+        SortedMap<Long, Integer> requirements = new TreeMap<>();
+        for (int i = index.recipeStart(p); i < index.recipeEnd(p); i++) {
+            long required = (long) index.recipeQuantity(i) * order.getQuantity();
+            if (required > Integer.MAX_VALUE) {
+                throw new BadRequestException("Quantidade de producao excede o limite suportado");
+            }
+            requirements.merge(index.materialId(index.recipeMaterial(i)), (int) required, Integer::sum);
+        }
+
+        if (stockLedger.isEnabled()) {
+            return produceFromLedger(index, order, productName, requirements);
+        }
+
+        int maxAttempts = properties.getProduction().getMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<MaterialConsumptionDTO> consumed = transaction.execute(status -> consume(requirements));
+                log.info("Producao registrada: {} x {} ({} tentativa(s))", order.getQuantity(), productName, attempt);
+                return ProductionOrderResultDTO.builder()
+                        .productId(order.getProductId())
+                        .productName(productName)
+                        .quantity(order.getQuantity())
+                        .consumed(consumed)
+                        .attempts(attempt)
+                        .build();
+            } catch (TransientDataAccessException e) {
+                // Lock timeouts and deadlock victims; insufficient stock is final and not retried
+                if (attempt >= maxAttempts) {
+                    throw new ConflictException(String.format(
+                            "Producao de %s nao concluida apos %d tentativas por concorrencia", productName, attempt));
+                }
+                log.warn("Tentativa {} de producao de {} falhou: {}", attempt, productName, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    private ProductionOrderResultDTO produceFromLedger(BomIndex index, ProductionOrderDTO order, String productName,
+                                                       SortedMap<Long, Integer> requirements) {
+        Map<Long, Integer> remaining;
+        try {
+            remaining = stockLedger.consume(requirements);
+        } catch (StockLedger.ShortageException e) {
+            throw new ConflictException(String.format("Estoque insuficiente de %s: necessario %d, disponivel %d",
+                    index.materialName(index.materialOrdinal(e.getRawMaterialId())), e.getRequired(),
+                    e.getAvailable()));
+        }
+        List<MaterialConsumptionDTO> consumed = new ArrayList<>(remaining.size());
+        remaining.forEach((rawMaterialId, stock) -> consumed.add(MaterialConsumptionDTO.builder()
+                .rawMaterialId(rawMaterialId)
+                .rawMaterialName(index.materialName(index.materialOrdinal(rawMaterialId)))
+                .quantityConsumed(requirements.get(rawMaterialId))
+                .remainingStock(stock)
+                .build()));
+        log.debug("Producao registrada no ledger: {} x {}", order.getQuantity(), productName);
+        return ProductionOrderResultDTO.builder()
+                .productId(order.getProductId())
+                .productName(productName)
+                .quantity(order.getQuantity())
+                .consumed(consumed)
+                .attempts(1)
+                .build();
+    }
+
+    private List<MaterialConsumptionDTO> consume(SortedMap<Long, Integer> requirements) {
+        requirements.forEach((rawMaterialId, quantity) -> {
+            if (rawMaterialRepository.consumeStock(rawMaterialId, quantity) == 0) {
+                throw shortage(rawMaterialId, quantity);
+            }
+        });
+
+        List<MaterialConsumptionDTO> consumed = new ArrayList<>(requirements.size());
+        Map<Long, Integer> stockQuantities = new HashMap<>();
+        Map<Long, Long> stockVersions = new HashMap<>();
+        List<StockJournal.Record> records = new ArrayList<>(requirements.size());
+        for (Object[] row : rawMaterialRepository.findStockLevels(requirements.keySet())) {
+            Long rawMaterialId = (Long) row[0];
+            records.add(new StockJournal.Record(rawMaterialId, -requirements.get(rawMaterialId), (Integer) row[2],
+                    (Long) row[3], StockMovementReason.PRODUCTION));
+            consumed.add(MaterialConsumptionDTO.builder()
+                    .rawMaterialId(rawMaterialId)
+                    .rawMaterialName((String) row[1])
+                    .quantityConsumed(requirements.get(rawMaterialId))
+                    .remainingStock((Integer) row[2])
+                    .build());
+            stockQuantities.put(rawMaterialId, (Integer) row[2]);
+            stockVersions.put(rawMaterialId, (Long) row[3]);
+        }
+        eventPublisher.publishEvent(CatalogChangedEvent.stock(stockQuantities, stockVersions));
+        stockMovementJournal.recordAfterCommit(records);
+        return consumed;
+    }
+
+    private RuntimeException shortage(Long rawMaterialId, int required) {
+        List<Object[]> levels = rawMaterialRepository.findStockLevels(List.of(rawMaterialId));
+        if (levels.isEmpty()) {
+            return new ResourceNotFoundException("RawMaterial", "id", rawMaterialId);
+        }
+        Object[] level = levels.get(0);
+        return new ConflictException(String.format("Estoque insuficiente de %s: necessario %d, disponivel %d",
+                level[1], required, level[2]));
+    }
+
+    private void backOff(int attempt) {
+        long base = properties.getProduction().getRetryBackoffMs() * attempt;
+        try {
+            Thread.sleep(base + ThreadLocalRandom.current().nextLong(base + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Producao interrompida antes de concluir");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductionPlanDTO;
+import com.inventory.dto.ProductionPlanItemDTO;
+import com.inventory.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductionPlanService {
+
+    private final BomIndexService bomIndexService;
+    private final StockLedger stockLedger;
+    private final InventoryProperties properties;
+
+    public ProductionPlanDTO optimizePlan(Long timeBudgetMs) {
+        InventoryProperties.Plan config = properties.getPlan();
+        long budget = resolveTimeBudget(timeBudgetMs);
+
+        BomIndex index = bomIndexService.getIndex();
+        // Same stock as the simulation: the ledger's levels are ahead of the index until its next flush
+        int[] stock = stockLedger.isEnabled() ? stockLedger.stockSnapshot(index) : index.stockSnapshot();
+        ProductionPlanSolver.Result result = new ProductionPlanSolver(index, stock)
+                .solve(TimeUnit.MILLISECONDS.toNanos(budget), config.getMaxIterations());
+
+        // Items follow the catalog price order, like the simulation
+        List<ProductionPlanItemDTO> items = new ArrayList<>();
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (int rank = 0; rank < index.productCount(); rank++) {
+            int p = index.productByPrice(rank);
+            int quantity = result.getQuantities()[p];
+            if (quantity <= 0) {
+                continue;
+            }
+            BigDecimal price = index.productPrice(p);
+            BigDecimal value = price.multiply(BigDecimal.valueOf(quantity));
+            totalValue = totalValue.add(value);
+            items.add(ProductionPlanItemDTO.builder()
+                    .productId(index.productId(p))
+                    .productName(index.productName(p))
+                    .price(price)
+                    .quantity(quantity)
+                    .totalValue(value)
+                    .build());
+        }
+
+        long solveTimeMs = TimeUnit.NANOSECONDS.toMillis(result.getSolveTimeNanos());
+        log.info("Plano de producao otimizado: valor {}, gap {}, {} iteracoes em {} ms ({})",
+                totalValue, result.getGap(), result.getIterations(), solveTimeMs, result.getStatus());
+
+        return ProductionPlanDTO.builder()
+                .items(items)
+                .totalValue(totalValue)
+                .upperBound(BigDecimal.valueOf(result.getUpperBound()).setScale(2, RoundingMode.HALF_UP))
+                .optimalityGap(result.getGap())
+                .status(result.getStatus().name())
+                .iterations(result.getIterations())
+                .solveTimeMs(solveTimeMs)
+                .build();
+    }
+
+    /**
+     * The requested budget, or the configured default when absent.
+     *
+     * @throws BadRequestException when it is outside 1..{@code max-time-budget-ms}
+     */
+    public long resolveTimeBudget(Long timeBudgetMs) {
+        InventoryProperties.Plan config = properties.getPlan();
+        long budget = timeBudgetMs != null ? timeBudgetMs : config.getTimeBudgetMs();
+        if (budget <= 0 || budget > config.getMaxTimeBudgetMs()) {
+            throw new BadRequestException(String.format(
+                    "O parametro timeBudgetMs deve estar entre 1 e %d", config.getMaxTimeBudgetMs()));
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,290 @@
+package com.inventory.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Maximizes {@code sum(price * quantity)} subject to the shared raw material
+ * stock. Upper bounds come from the Lagrangian dual of the LP relaxation,
+ * optimized by projected subgradient steps over the material multipliers.
+ * Feasible integer plans come from rounding the averaged Lagrangian solutions
+ * (an estimate of the LP optimum) and filling the leftover stock greedily,
+ * ranking products by price per unit of consumption priced at the multipliers.
+ */
+public final class ProductionPlanSolver {
+
+    public enum Status {
+        OPTIMAL,
+        CONVERGED,
+        ITERATION_LIMIT,
+        TIME_LIMIT
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Result {
+        // Indexed by product ordinal of the BomIndex
+        private final int[] quantities;
+        private final double value;
+        private final double upperBound;
+        private final int iterations;
+        private final long solveTimeNanos;
+        private final Status status;
+
+        public double getGap() {
+            return upperBound > 0 ? Math.max(0, (upperBound - value) / upperBound) : 0;
+        }
+    }
+
+    private static final double GAP_TOLERANCE = 1e-4;
+    private static final int PRIMAL_INTERVAL = 10;
+    private static final int STALL_LIMIT = 20;
+    private static final double MIN_STEP_SCALE = 1e-6;
+
+    private final BomIndex index;
+    private final long[] capacity;
+
+    // Candidates are products with a recipe, a positive price and something producible.
+    // Their recipes are copied with duplicate materials merged.
+    private final int[] candidates;
+    private final double[] values;
+    private final int[] upperBounds;
+    private final int[] lineOffsets;
+    private final int[] lineMaterials;
+    private final long[] lineQuantities;
+
+    /**
+     * @param stock stock levels by material ordinal
+     */
+    public ProductionPlanSolver(BomIndex index, int[] stock) {
+        this.index = index;
+        int materialCount = index.materialCount();
+        this.capacity = new long[materialCount];
+        for (int m = 0; m < materialCount; m++) {
+            capacity[m] = Math.max(0, stock[m]);
+        }
+
+        int productCount = index.productCount();
+        int[] candidateBuffer = new int[productCount];
+        double[] valueBuffer = new double[productCount];
+        int[] boundBuffer = new int[productCount];
+        int[] offsetBuffer = new int[productCount + 1];
+        int[] materialBuffer = new int[index.recipeLineCount()];
+        long[] quantityBuffer = new long[index.recipeLineCount()];
+        int[] slotOfMaterial = new int[materialCount];
+        Arrays.fill(slotOfMaterial, -1);
+
+        int count = 0;
+        int lines = 0;
+        for (int p = 0; p < productCount; p++) {
+            double value = index.productPrice(p).doubleValue();
+            if (value <= 0 || index.recipeStart(p) == index.recipeEnd(p)) {
+                continue;
+            }
+            int first = lines;
+            for (int i = index.recipeStart(p); i < index.recipeEnd(p); i++) {
+                int m = index.recipeMaterial(i);
+                if (slotOfMaterial[m] >= first) {
+                    quantityBuffer[slotOfMaterial[m]] += index.recipeQuantity(i);
+                } else {
+                    slotOfMaterial[m] = lines;
+                    materialBuffer[lines] = m;
+                    quantityBuffer[lines] = index.recipeQuantity(i);
+                    lines++;
+                }
+            }
+            long bound = Integer.MAX_VALUE;
+            for (int i = first; i < lines; i++) {
+                bound = Math.min(bound, capacity[materialBuffer[i]] / quantityBuffer[i]);
+            }
+            if (bound <= 0) {
+                lines = first;
+                continue;
+            }
+            candidateBuffer[count] = p;
+            valueBuffer[count] = value;
+            boundBuffer[count] = (int) bound;
+            offsetBuffer[count + 1] = lines;
+            count++;
+        }
+
+        this.candidates = Arrays.copyOf(candidateBuffer, count);
+        this.values = Arrays.copyOf(valueBuffer, count);
+        this.upperBounds = Arrays.copyOf(boundBuffer, count);
+        this.lineOffsets = Arrays.copyOf(offsetBuffer, count + 1);
+        this.lineMaterials = Arrays.copyOf(materialBuffer, lines);
+        this.lineQuantities = Arrays.copyOf(quantityBuffer, lines);
+    }
+
+    public Result solve(long timeBudgetNanos, int maxIterations) {
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        int materialCount = capacity.length;
+
+        double[] lambda = new double[materialCount];
+        double[] subgradient = new double[materialCount];
+        int[] plan = new int[candidates.length];
+        int[] bestPlan = new int[candidates.length];
+
+        double[] average = new double[candidates.length];
+        double averageWeight = 0;
+
+        double bestValue = roundPlan(rank(lambda), null, plan);
+        System.arraycopy(plan, 0, bestPlan, 0, plan.length);
+        double bestBound = Double.POSITIVE_INFINITY;
+
+        double stepScale = 2.0;
+        int sinceImprovement = 0;
+        int iterations = 0;
+        Status status = Status.ITERATION_LIMIT;
+
+        while (iterations < maxIterations) {
+            if (System.nanoTime() - deadline > 0) {
+                status = Status.TIME_LIMIT;
+                break;
+            }
+            iterations++;
+
+            // Later iterates get more weight in the averaged Lagrangian solution
+            averageWeight += iterations;
+            double dual = evaluateDual(lambda, subgradient, average, iterations / averageWeight);
+            if (dual < bestBound) {
+                bestBound = dual;
+                sinceImprovement = 0;
+            } else if (++sinceImprovement >= STALL_LIMIT) {
+                stepScale /= 2;
+                sinceImprovement = 0;
+            }
+
+            if (iterations % PRIMAL_INTERVAL == 0) {
+                // Try both the LP-guided rounding and the plain ratio greedy, keep the best
+                Integer[] order = rank(lambda);
+                for (double[] guide : new double[][]{average, null}) {
+                    double value = roundPlan(order, guide, plan);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        System.arraycopy(plan, 0, bestPlan, 0, plan.length);
+                    }
+                }
+            }
+
+            if (bestBound - bestValue <= GAP_TOLERANCE * Math.max(1, bestBound)) {
+                status = Status.OPTIMAL;
+                break;
+            }
+
+            // Projected subgradient: multipliers already at zero cannot decrease further
+            double norm = 0;
+            for (int m = 0; m < materialCount; m++) {
+                if (lambda[m] <= 0 && subgradient[m] > 0) {
+                    subgradient[m] = 0;
+                }
+                norm += subgradient[m] * subgradient[m];
+            }
+            if (norm == 0 || stepScale < MIN_STEP_SCALE) {
+                status = Status.CONVERGED;
+                break;
+            }
+            double step = stepScale * (dual - bestValue) / norm;
+            for (int m = 0; m < materialCount; m++) {
+                lambda[m] = Math.max(0, lambda[m] - step * subgradient[m]);
+            }
+        }
+
+        int[] quantities = new int[index.productCount()];
+        for (int c = 0; c < candidates.length; c++) {
+            quantities[candidates[c]] = bestPlan[c];
+        }
+        double upperBound = Math.max(bestValue, Math.min(bestBound, totalUnboundedValue()));
+        return new Result(quantities, bestValue, upperBound, iterations, System.nanoTime() - start, status);
+    }
+
+    // L(lambda) = sum(lambda * stock) + sum(max(0, reduced cost) * upper bound).
+    // Also fills the subgradient and folds the subproblem solution into the running average.
+    private double evaluateDual(double[] lambda, double[] subgradient, double[] average, double mix) {
+        double dual = 0;
+        for (int m = 0; m < capacity.length; m++) {
+            dual += lambda[m] * capacity[m];
+            subgradient[m] = capacity[m];
+        }
+        for (int c = 0; c < candidates.length; c++) {
+            double cost = 0;
+            for (int i = lineOffsets[c]; i < lineOffsets[c + 1]; i++) {
+                cost += lambda[lineMaterials[i]] * lineQuantities[i];
+            }
+            double reduced = values[c] - cost;
+            double x = reduced > 0 ? upperBounds[c] : 0;
+            average[c] += mix * (x - average[c]);
+            if (reduced > 0) {
+                dual += reduced * upperBounds[c];
+                for (int i = lineOffsets[c]; i < lineOffsets[c + 1]; i++) {
+                    subgradient[lineMaterials[i]] -= (double) lineQuantities[i] * upperBounds[c];
+                }
+            }
+        }
+        return dual;
+    }
+
+    // Candidates by price per unit of consumption priced at the multipliers, best first
+    private Integer[] rank(double[] lambda) {
+        double[] ratio = new double[candidates.length];
+        Integer[] order = new Integer[candidates.length];
+        for (int c = 0; c < candidates.length; c++) {
+            double cost = 0;
+            double scarcity = 0;
+            for (int i = lineOffsets[c]; i < lineOffsets[c + 1]; i++) {
+                int m = lineMaterials[i];
+                cost += lambda[m] * lineQuantities[i];
+                scarcity += (double) lineQuantities[i] / capacity[m];
+            }
+            // Scarcity only breaks ties while the multipliers are still zero
+            ratio[c] = values[c] / (cost + 1e-9 * scarcity);
+            order[c] = c;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(ratio[b], ratio[a]));
+        return order;
+    }
+
+    // Rounds the guide (the averaged LP solution) down, repairs it in rank order and then
+    // fills the remaining stock greedily in the same order; returns the plan value
+    private double roundPlan(Integer[] order, double[] guide, int[] plan) {
+        long[] remaining = capacity.clone();
+        double value = 0;
+        Arrays.fill(plan, 0);
+        if (guide != null) {
+            for (int c : order) {
+                value += allocate(c, (long) Math.floor(guide[c]), remaining, plan);
+            }
+        }
+        for (int c : order) {
+            value += allocate(c, upperBounds[c] - plan[c], remaining, plan);
+        }
+        return value;
+    }
+
+    // Adds up to 'wanted' units of candidate c that still fit in the remaining stock
+    private double allocate(int c, long wanted, long[] remaining, int[] plan) {
+        long quantity = wanted;
+        for (int i = lineOffsets[c]; i < lineOffsets[c + 1] && quantity > 0; i++) {
+            quantity = Math.min(quantity, remaining[lineMaterials[i]] / lineQuantities[i]);
+        }
+        if (quantity <= 0) {
+            return 0;
+        }
+        for (int i = lineOffsets[c]; i < lineOffsets[c + 1]; i++) {
+            remaining[lineMaterials[i]] -= quantity * lineQuantities[i];
+        }
+        plan[c] += (int) quantity;
+        return quantity * values[c];
+    }
+
+    private double totalUnboundedValue() {
+        double total = 0;
+        for (int c = 0; c < candidates.length; c++) {
+            total += values[c] * upperBounds[c];
+        }
+        return total;
+    }
+}
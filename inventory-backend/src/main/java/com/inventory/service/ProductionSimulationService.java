@@ -1,129 +1,425 @@
 package com.inventory.service;
 
+import com.inventory.config.CacheConfig;
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.BottleneckAnalysisDTO;
+import com.inventory.dto.MaterialBottleneckDTO;
+import com.inventory.dto.ProductBottleneckDTO;
 import com.inventory.dto.ProductionSimulationDTO;
-import com.inventory.entity.Product;
-import com.inventory.entity.ProductRawMaterial;
-import com.inventory.entity.RawMaterial;
-import com.inventory.repository.ProductRepository;
-import com.inventory.repository.RawMaterialRepository;
+import com.inventory.dto.ScenarioDTO;
+import com.inventory.dto.ScenarioRequestDTO;
+import com.inventory.dto.ScenarioResultDTO;
+import com.inventory.dto.StockDeltaDTO;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ResourceNotFoundException;
+import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductionSimulationService {
 
-    private final ProductRepository productRepository;
-    private final RawMaterialRepository rawMaterialRepository;
+    // Indexes of the skipped-product tallies kept by collectPage
+    private static final int NO_RECIPE = 0;
+    private static final int NO_STOCK = 1;
+
+    private final BomIndexService bomIndexService;
+    private final SimulationEngine simulationEngine;
+    private final InventoryProperties properties;
+    private final StockLedger stockLedger;
+    private final StockHistoryService stockHistoryService;
+    private final CacheManager cacheManager;
+    private final SimulationMetrics simulationMetrics;
+
+    // A cached run is only served while the index it was computed from is current
+    @AllArgsConstructor
+    private static final class CachedRun {
+        private final BomIndex index;
+        private final SimulationRun run;
+    }
 
-    @Transactional(readOnly = true)
     public List<ProductionSimulationDTO> simulateProduction() {
-        log.info("Iniciando simulacao de producao");
-        
-        // Get all products with their required materials using JOIN FETCH
-        List<Product> products = productRepository.findAllWithRawMaterials();
-        log.info("Total de produtos encontrados: {}", products.size());
-        
-        // Get all raw materials with their stock
-        List<RawMaterial> rawMaterials = rawMaterialRepository.findAll();
-        log.info("Total de materias-primas encontradas: {}", rawMaterials.size());
-        
-        // Create a map of raw material stock for quick lookup
-        Map<String, Integer> stockMap = new HashMap<>();
-        for (RawMaterial rawMaterial : rawMaterials) {
-            stockMap.put(rawMaterial.getName(), rawMaterial.getStockQuantity());
-        }
-        
-        // Calculate production possibilities for each product
-        List<ProductionSimulationDTO> results = new ArrayList<>();
-        
-        for (Product product : products) {
-            try {
-                // Get required raw materials for this product - verificacao defensiva
-                List<ProductRawMaterial> requiredMaterials = product.getProductRawMaterials() != null 
-                    ? new ArrayList<>(product.getProductRawMaterials()) 
-                    : new ArrayList<>();
-                
-                if (requiredMaterials.isEmpty()) {
-                    log.debug("Produto {} sem materias-primas associadas", product.getName());
-                    continue;
+        return simulateProduction(null, 0);
+    }
+
+    public List<ProductionSimulationDTO> simulateProduction(Integer limit, int offset) {
+        return simulate(limit, offset, null, null).getResults();
+    }
+
+    /**
+     * Producible products ordered by price descending. In MATERIALIZED mode the
+     * quantities are read from the state maintained by the index; SEQUENTIAL and
+     * PARALLEL recompute them over the index's immutable stock snapshot. The index
+     * keeps products pre-sorted by price, so a page is produced by walking that
+     * order and stopping once {@code offset + limit} producible products were seen.
+     * With the stock ledger enabled the quantities are always recomputed over the
+     * ledger's live stock, since the index only sees it after a write-behind flush.
+     * With {@code asOf} they are recomputed over the stock at that instant,
+     * rebuilt from the stock movement journal. Runs over the current stock are
+     * cached per page and mode until the next catalog change.
+     *
+     * @param mode requested mode, or {@code null} for {@code inventory.simulation.mode}
+     * @param asOf past instant to simulate, or {@code null} for the current stock
+     */
+    public SimulationRun simulate(Integer limit, int offset, SimulationMode mode, Instant asOf) {
+        validatePage(limit, offset);
+        SimulationMode requested = mode != null ? mode : SimulationMode.parse(properties.getSimulation().getMode());
+        BomIndex index = bomIndexService.getIndex();
+        // Ledger stock changes without a catalog event, so its runs are never cached
+        Cache cache = asOf == null && !stockLedger.isEnabled() ? cacheManager.getCache(CacheConfig.SIMULATION) : null;
+        String key = requested + ":" + limit + ":" + offset;
+        CachedRun cached = cache != null ? cache.get(key, CachedRun.class) : null;
+        if (cached != null && cached.index == index) {
+            log.debug("Simulacao de producao ({}) servida do cache", requested);
+            return cached.run;
+        }
+
+        log.info("Iniciando simulacao de producao ({})", requested);
+        long start = System.nanoTime();
+
+        List<ProductionSimulationDTO> results;
+        SimulationMode executed;
+        int[] skipped = new int[2];
+        if (requested == SimulationMode.MATERIALIZED && !stockLedger.isEnabled() && asOf == null) {
+            results = collectPage(index, limit, offset, (rank, p) -> index.producible(p), skipped);
+            simulationMetrics.sort(System.nanoTime() - start);
+            executed = SimulationMode.MATERIALIZED;
+        } else {
+            int[] quantityByRank = new int[index.productCount()];
+            int[] stock = asOf != null ? stockHistoryService.stockAt(index, asOf)
+                    : stockLedger.isEnabled() ? stockLedger.stockSnapshot(index) : index.stockSnapshot();
+            boolean parallel = simulationEngine.computeByPriceRank(index, stock,
+                    requested == SimulationMode.PARALLEL, quantityByRank);
+            long computed = System.nanoTime();
+            simulationMetrics.compute(computed - start);
+            results = collectPage(index, limit, offset, (rank, p) -> quantityByRank[rank], skipped);
+            simulationMetrics.sort(System.nanoTime() - computed);
+            executed = parallel ? SimulationMode.PARALLEL : SimulationMode.SEQUENTIAL;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        log.info("Simulacao concluida ({}) em {} us. Total de produtos retornados: {}, "
+                        + "ignorados: {} sem receita, {} sem estoque suficiente",
+                executed, elapsed / 1000, results.size(), skipped[NO_RECIPE], skipped[NO_STOCK]);
+        SimulationRun run = new SimulationRun(results, executed, elapsed);
+        if (cache != null) {
+            cache.put(key, new CachedRun(index, run));
+        }
+        return run;
+    }
+
+    /**
+     * Evaluates what-if stock deltas without writing them. All scenarios share one
+     * index snapshot and start from the stock the simulation uses: the
+     * materialized state of the index, or with the ledger on its current levels.
+     * Each one only recomputes the products that use a material it changes.
+     * Scenarios run side by side on the simulation pool.
+     */
+    public List<ScenarioResultDTO> evaluateScenarios(ScenarioRequestDTO request) {
+        List<ScenarioDTO> scenarios = request.getScenarios();
+        int maxScenarios = properties.getSimulation().getMaxScenarios();
+        if (scenarios.size() > maxScenarios) {
+            throw new BadRequestException(String.format("Maximo de %d cenarios por requisicao", maxScenarios));
+        }
+        validatePage(request.getLimit(), 0);
+
+        BomIndex index = bomIndexService.getIndex();
+        long start = System.nanoTime();
+        for (ScenarioDTO scenario : scenarios) {
+            for (StockDeltaDTO delta : scenario.getStockDeltas()) {
+                if (index.materialOrdinal(delta.getRawMaterialId()) == null) {
+                    throw new ResourceNotFoundException("RawMaterial", "id", delta.getRawMaterialId());
+                }
+            }
+        }
+
+        // The ledger's levels are ahead of the materialized state until its next flush
+        int[] baseStock;
+        int[] baseQuantities;
+        if (stockLedger.isEnabled()) {
+            baseStock = stockLedger.stockSnapshot(index);
+            baseQuantities = new int[index.productCount()];
+            for (int p = 0; p < baseQuantities.length; p++) {
+                baseQuantities[p] = index.maxProducible(p, baseStock);
+            }
+        } else {
+            baseStock = index.stockSnapshot();
+            baseQuantities = index.producibleSnapshot();
+        }
+        BigDecimal baseTotal = BigDecimal.ZERO;
+        for (int p = 0; p < baseQuantities.length; p++) {
+            if (baseQuantities[p] > 0) {
+                baseTotal = baseTotal.add(index.productPrice(p).multiply(BigDecimal.valueOf(baseQuantities[p])));
+            }
+        }
+        BigDecimal total = baseTotal;
+        List<ScenarioResultDTO> results = simulationEngine.mapParallel(scenarios, scenario ->
+                evaluateScenario(index, scenario, baseStock, baseQuantities, total, request.getLimit()));
+
+        log.info("{} cenarios avaliados em {} us", scenarios.size(), (System.nanoTime() - start) / 1000);
+        return results;
+    }
+
+    private ScenarioResultDTO evaluateScenario(BomIndex index, ScenarioDTO scenario, int[] baseStock,
+                                               int[] baseQuantities, BigDecimal baseTotal, Integer limit) {
+        int[] stock = baseStock.clone();
+        int[] quantities = baseQuantities.clone();
+        List<Integer> changedMaterials = new ArrayList<>();
+        for (StockDeltaDTO delta : scenario.getStockDeltas()) {
+            int m = index.materialOrdinal(delta.getRawMaterialId());
+            long updated = (long) stock[m] + delta.getDelta();
+            stock[m] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, updated));
+            changedMaterials.add(m);
+        }
+
+        // All deltas are applied before recomputing, so a product using several changed
+        // materials is counted once: its second recomputation yields the same quantity
+        BigDecimal totalValue = baseTotal;
+        int affected = 0;
+        for (int m : changedMaterials) {
+            for (int i = index.usageStart(m); i < index.usageEnd(m); i++) {
+                int p = index.usageProduct(i);
+                int before = quantities[p];
+                int after = index.maxProducible(p, stock);
+                if (after != before) {
+                    quantities[p] = after;
+                    totalValue = totalValue.add(index.productPrice(p)
+                            .multiply(BigDecimal.valueOf((long) Math.max(after, 0) - Math.max(before, 0))));
+                    affected++;
+                }
+            }
+        }
+
+        return ScenarioResultDTO.builder()
+                .name(scenario.getName())
+                .totalValue(totalValue)
+                .affectedProducts(affected)
+                .results(collectPage(index, limit, 0, (rank, p) -> quantities[p], new int[2]))
+                .build();
+    }
+
+    /**
+     * Limiting material of every product with a recipe, and the value each
+     * material holds back. One pass over the products of the index; each recipe
+     * is walked twice, once for the capacity and its two tightest materials and
+     * once for the shortfall of the next unit, so the work is linear in the
+     * number of recipe lines. Rankings use primitive scores; DTOs and exact
+     * BigDecimal values are only built for the entries returned. Stock is the
+     * same the simulation uses.
+     *
+     * @param limit maximum entries in each ranking, or {@code null} for all
+     */
+    public BottleneckAnalysisDTO analyzeBottlenecks(Integer limit) {
+        validatePage(limit, 0);
+        BomIndex index = bomIndexService.getIndex();
+        long start = System.nanoTime();
+        int[] stock = stockLedger.isEnabled() ? stockLedger.stockSnapshot(index) : index.stockSnapshot();
+
+        int productCount = index.productCount();
+        int[] capacityOf = new int[productCount];
+        int[] limitingLineOf = new int[productCount];
+        long[] blockedUnitsOf = new long[productCount];
+        long[] totalExtraOf = new long[productCount];
+        double[] productScore = new double[productCount];
+        int[] limitedProducts = new int[index.materialCount()];
+        int[] soleMaterialProducts = new int[index.materialCount()];
+        double[] materialScore = new double[index.materialCount()];
+        int analyzed = 0;
+        for (int p = 0; p < productCount; p++) {
+            int recipeStart = index.recipeStart(p);
+            int recipeEnd = index.recipeEnd(p);
+            if (recipeStart == recipeEnd) {
+                limitingLineOf[p] = -1;
+                continue;
+            }
+
+            // Tightest and second tightest material; a tie leaves the first one limiting
+            int limitingLine = -1;
+            long capacity = Long.MAX_VALUE;
+            long nextCapacity = Long.MAX_VALUE;
+            for (int i = recipeStart; i < recipeEnd; i++) {
+                long possible = Math.max(0, stock[index.recipeMaterial(i)] / index.recipeQuantity(i));
+                if (possible < capacity) {
+                    nextCapacity = capacity;
+                    capacity = possible;
+                    limitingLine = i;
+                } else if (possible < nextCapacity) {
+                    nextCapacity = possible;
                 }
-                
-                // Calculate maximum producible quantity based on stock
-                Integer maxQuantity = null;
-                for (ProductRawMaterial required : requiredMaterials) {
-                    // Verificacao defensiva para evitar NullPointerException
-                    if (required.getRawMaterial() == null) {
-                        log.warn("Produto {} tem materia-prima sem associacao", product.getName());
-                        continue;
-                    }
-                    
-                    String materialName = required.getRawMaterial().getName();
-                    Integer availableStock = stockMap.get(materialName);
-                    Integer requiredQty = required.getQuantity();
-                    
-                    if (availableStock == null || availableStock == 0) {
-                        maxQuantity = 0;
-                        log.debug("Material {} com estoque insuficiente para produto {}", materialName, product.getName());
-                        break;
-                    }
-                    
-                    if (requiredQty == null || requiredQty <= 0) {
-                        log.warn("Produto {} tem quantidade requerida invalida para material {}", product.getName(), materialName);
-                        continue;
-                    }
-                    
-                    int possibleQty = availableStock / requiredQty;
-                    
-                    if (maxQuantity == null || possibleQty < maxQuantity) {
-                        maxQuantity = possibleQty;
-                    }
+            }
+
+            long totalExtra = 0;
+            for (int i = recipeStart; i < recipeEnd; i++) {
+                totalExtra += Math.max(0, (capacity + 1) * index.recipeQuantity(i) - stock[index.recipeMaterial(i)]);
+            }
+
+            int m = index.recipeMaterial(limitingLine);
+            double price = index.productPrice(p).doubleValue();
+            capacityOf[p] = (int) capacity;
+            limitingLineOf[p] = limitingLine;
+            totalExtraOf[p] = totalExtra;
+            productScore[p] = price / totalExtra;
+            limitedProducts[m]++;
+            if (nextCapacity == Long.MAX_VALUE) {
+                soleMaterialProducts[m]++;
+            } else {
+                blockedUnitsOf[p] = nextCapacity - capacity;
+                materialScore[m] += price * blockedUnitsOf[p];
+            }
+            analyzed++;
+        }
+
+        int[] topProducts = rank(productCount, limit, p -> limitingLineOf[p] >= 0, productScore,
+                p -> index.productId(p));
+        int[] topMaterials = rank(index.materialCount(), limit, m -> limitedProducts[m] > 0, materialScore,
+                m -> index.materialId(m));
+
+        List<ProductBottleneckDTO> products = new ArrayList<>(topProducts.length);
+        for (int p : topProducts) {
+            int line = limitingLineOf[p];
+            int m = index.recipeMaterial(line);
+            BigDecimal price = index.productPrice(p);
+            products.add(ProductBottleneckDTO.builder()
+                    .productId(index.productId(p))
+                    .productName(index.productName(p))
+                    .price(price)
+                    .quantityPossible(capacityOf[p])
+                    .limitingMaterialId(index.materialId(m))
+                    .limitingMaterialName(index.materialName(m))
+                    .limitingMaterialStock(stock[m])
+                    .requiredPerUnit(index.recipeQuantity(line))
+                    .extraUnitsNeeded(((long) capacityOf[p] + 1) * index.recipeQuantity(line) - stock[m])
+                    .totalExtraUnitsNeeded(totalExtraOf[p])
+                    .valueUnlockedPerUnit(price.divide(BigDecimal.valueOf(totalExtraOf[p]), 4, RoundingMode.HALF_UP))
+                    .build());
+        }
+
+        // Exact blocked values, summed only for the returned materials
+        BigDecimal[] blockedValue = new BigDecimal[index.materialCount()];
+        for (int m : topMaterials) {
+            blockedValue[m] = BigDecimal.ZERO;
+        }
+        for (int p = 0; p < productCount; p++) {
+            if (blockedUnitsOf[p] > 0) {
+                int m = index.recipeMaterial(limitingLineOf[p]);
+                if (blockedValue[m] != null) {
+                    blockedValue[m] = blockedValue[m].add(
+                            index.productPrice(p).multiply(BigDecimal.valueOf(blockedUnitsOf[p])));
                 }
-                
-                // Only add products that can be produced (quantity > 0)
-                if (maxQuantity != null && maxQuantity > 0) {
-                    BigDecimal totalValue = product.getPrice().multiply(BigDecimal.valueOf(maxQuantity));
-                    
-                    results.add(ProductionSimulationDTO.builder()
-                            .productName(product.getName())
-                            .quantityPossible(maxQuantity)
-                            .totalValue(totalValue)
-                            .build());
-                    log.debug("Produto {} pode produzir {} unidades", product.getName(), maxQuantity);
+            }
+        }
+        List<MaterialBottleneckDTO> materials = new ArrayList<>(topMaterials.length);
+        for (int m : topMaterials) {
+            materials.add(MaterialBottleneckDTO.builder()
+                    .rawMaterialId(index.materialId(m))
+                    .rawMaterialName(index.materialName(m))
+                    .stockQuantity(stock[m])
+                    .limitedProducts(limitedProducts[m])
+                    .blockedValue(blockedValue[m])
+                    .soleMaterialProducts(soleMaterialProducts[m])
+                    .build());
+        }
+
+        log.info("Gargalos analisados: {} produtos com receita em {} us",
+                analyzed, (System.nanoTime() - start) / 1000);
+        return BottleneckAnalysisDTO.builder()
+                .products(products)
+                .materials(materials)
+                .build();
+    }
+
+    // Ordinals accepted by include, by score descending then id ascending; at most limit of them.
+    // With a limit only a bounded heap is kept, so ranking a page costs O(n log limit).
+    private static int[] rank(int count, Integer limit, IntPredicate include, double[] score, IntToLongFunction id) {
+        Comparator<Integer> best = Comparator.<Integer>comparingDouble(i -> score[i]).reversed()
+                .thenComparingLong(id::applyAsLong);
+        if (limit == null) {
+            List<Integer> all = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (include.test(i)) {
+                    all.add(i);
                 }
-            } catch (Exception e) {
-                log.error("Erro ao processar produto {}: {}", product.getName(), e.getMessage());
             }
+            all.sort(best);
+            return all.stream().mapToInt(Integer::intValue).toArray();
+        }
+        if (limit == 0) {
+            return new int[0];
+        }
+        PriorityQueue<Integer> worstFirst = new PriorityQueue<>(limit, best.reversed());
+        for (int i = 0; i < count; i++) {
+            if (!include.test(i)) {
+                continue;
+            }
+            if (worstFirst.size() < limit) {
+                worstFirst.add(i);
+            } else if (best.compare(i, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(i);
+            }
+        }
+        int[] ranked = new int[worstFirst.size()];
+        for (int r = ranked.length - 1; r >= 0; r--) {
+            ranked[r] = worstFirst.poll();
+        }
+        return ranked;
+    }
+
+    private void validatePage(Integer limit, int offset) {
+        if (limit != null && limit < 0) {
+            throw new BadRequestException("O parametro limit nao pode ser negativo");
+        }
+        if (offset < 0) {
+            throw new BadRequestException("O parametro offset nao pode ser negativo");
         }
-        
-        log.info("Simulacao concluida. Total de produtos produisiveis: {}", results.size());
-        
-        // Sort by product price descending
-        results.sort((a, b) -> {
-            Product productA = products.stream()
-                    .filter(p -> p.getName().equals(a.getProductName()))
-                    .findFirst()
-                    .orElse(null);
-            Product productB = products.stream()
-                    .filter(p -> p.getName().equals(b.getProductName()))
-                    .findFirst()
-                    .orElse(null);
-            
-            if (productA == null || productB == null) {
-                return 0;
+    }
+
+    // Walks products in price order; quantityOf receives (price rank, product ordinal).
+    // Products walked but not producible are tallied in skipped instead of logged one by one.
+    private List<ProductionSimulationDTO> collectPage(BomIndex index, Integer limit, int offset,
+                                                      IntBinaryOperator quantityOf, int[] skipped) {
+        long end = limit != null ? (long) offset + limit : Long.MAX_VALUE;
+        List<ProductionSimulationDTO> results = new ArrayList<>();
+        int seen = 0;
+        for (int rank = 0; rank < index.productCount() && seen < end; rank++) {
+            int p = index.productByPrice(rank);
+            int maxQuantity = quantityOf.applyAsInt(rank, p);
+            // Only add products that can be produced (quantity > 0)
+            if (maxQuantity <= 0) {
+                skipped[maxQuantity < 0 ? NO_RECIPE : NO_STOCK]++;
+                continue;
             }
-            return productB.getPrice().compareTo(productA.getPrice());
-        });
-        
+            if (seen++ >= offset) {
+                results.add(toDTO(index, p, maxQuantity));
+            }
+        }
         return results;
     }
+
+    private ProductionSimulationDTO toDTO(BomIndex index, int p, int quantity) {
+        BigDecimal price = index.productPrice(p);
+        return ProductionSimulationDTO.builder()
+                .productId(index.productId(p))
+                .productName(index.productName(p))
+                .price(price)
+                .quantityPossible(quantity)
+                .totalValue(price.multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
 }
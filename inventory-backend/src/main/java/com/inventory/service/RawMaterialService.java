@@ -1,14 +1,21 @@
 package com.inventory.service;
 
+import com.inventory.config.CacheConfig;
+import com.inventory.dto.PageResponse;
 import com.inventory.dto.RawMaterialDTO;
 import com.inventory.entity.RawMaterial;
+import com.inventory.event.CatalogChangedEvent;
 import com.inventory.exception.ResourceNotFoundException;
 import com.inventory.mapper.RawMaterialMapper;
 import com.inventory.repository.RawMaterialRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -17,25 +24,45 @@ public class RawMaterialService {
 
     private final RawMaterialRepository rawMaterialRepository;
     private final RawMaterialMapper rawMaterialMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedger stockLedger;
+    private final StockMovementJournal stockMovementJournal;
+    private final KeysetPagination keysetPagination;
+    private final CatalogExporter catalogExporter;
 
     @Transactional
     public RawMaterialDTO createRawMaterial(RawMaterialDTO rawMaterialDTO) {
         RawMaterial rawMaterial = rawMaterialMapper.toEntity(rawMaterialDTO);
         RawMaterial savedRawMaterial = rawMaterialRepository.save(rawMaterial);
+        stockMovementJournal.recordAfterCommit(List.of(
+                adjustment(savedRawMaterial, savedRawMaterial.getStockQuantity())));
+        eventPublisher.publishEvent(CatalogChangedEvent.rawMaterial(savedRawMaterial.getId()));
         return rawMaterialMapper.toDTO(savedRawMaterial);
     }
 
+    @Cacheable(cacheNames = CacheConfig.RAW_MATERIALS, key = "@catalogVersion.currentTag()")
     @Transactional(readOnly = true)
     public List<RawMaterialDTO> getAllRawMaterials() {
-        List<RawMaterial> rawMaterials = rawMaterialRepository.findAll();
-        return rawMaterialMapper.toDTOList(rawMaterials);
+        return rawMaterialRepository.findAllProjected();
     }
 
+    @Transactional(readOnly = true)
+    public PageResponse<RawMaterialDTO> getRawMaterialsPage(String cursor, Integer size) {
+        int pageSize = keysetPagination.resolveSize(size);
+        List<RawMaterialDTO> rows = rawMaterialRepository.findPageAfter(
+                keysetPagination.decode(cursor), Limit.of(pageSize + 1));
+        return keysetPagination.toPage(rows, pageSize, RawMaterialDTO::getId);
+    }
+
+    public void exportRawMaterials(ExportFormat format, OutputStream out) {
+        catalogExporter.export(rawMaterialRepository::streamAllProjected, format, out);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.RAW_MATERIAL, key = "{@catalogVersion.currentTag(), #id}")
     @Transactional(readOnly = true)
     public RawMaterialDTO getRawMaterialById(Long id) {
-        RawMaterial rawMaterial = rawMaterialRepository.findById(id)
+        return rawMaterialRepository.findProjectedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", "id", id));
-        return rawMaterialMapper.toDTO(rawMaterial);
     }
 
     @Transactional
@@ -43,10 +70,33 @@ public class RawMaterialService {
         RawMaterial existingRawMaterial = rawMaterialRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("RawMaterial", "id", id));
 
+        boolean renamed = !existingRawMaterial.getName().equals(rawMaterialDTO.getName());
+        boolean repriced = rawMaterialDTO.getUnitCost() != null
+                && rawMaterialDTO.getUnitCost().compareTo(existingRawMaterial.getUnitCost()) != 0;
+        int previousStock = existingRawMaterial.getStockQuantity();
         existingRawMaterial.setName(rawMaterialDTO.getName());
         existingRawMaterial.setStockQuantity(rawMaterialDTO.getStockQuantity());
+        if (repriced) {
+            existingRawMaterial.setUnitCost(rawMaterialDTO.getUnitCost());
+        }
 
-        RawMaterial updatedRawMaterial = rawMaterialRepository.save(existingRawMaterial);
+        // Flushed here so the event carries the version this write produced
+        RawMaterial updatedRawMaterial = rawMaterialRepository.saveAndFlush(existingRawMaterial);
+        if (stockLedger.isEnabled()) {
+            // The ledger owns stock and versions; without this its next flush would overwrite the new
+            // level, or give the row a version lower than this write's. It also records the change.
+            stockLedger.setAfterCommit(id, updatedRawMaterial.getVersion(),
+                    previousStock != updatedRawMaterial.getStockQuantity()
+                            ? updatedRawMaterial.getStockQuantity() : null);
+        } else if (previousStock != updatedRawMaterial.getStockQuantity()) {
+            stockMovementJournal.recordAfterCommit(List.of(
+                    adjustment(updatedRawMaterial, updatedRawMaterial.getStockQuantity() - previousStock)));
+        }
+        // A stock-only change can be patched into the BOM index without a rebuild
+        eventPublisher.publishEvent(renamed || repriced
+                ? CatalogChangedEvent.rawMaterial(id)
+                : CatalogChangedEvent.stock(id, updatedRawMaterial.getStockQuantity(),
+                        updatedRawMaterial.getVersion()));
         return rawMaterialMapper.toDTO(updatedRawMaterial);
     }
 
@@ -56,5 +106,11 @@ public class RawMaterialService {
             throw new ResourceNotFoundException("RawMaterial", "id", id);
         }
         rawMaterialRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.rawMaterial(id));
+    }
+
+    private static StockJournal.Record adjustment(RawMaterial rawMaterial, int delta) {
+        return new StockJournal.Record(rawMaterial.getId(), delta, rawMaterial.getStockQuantity(),
+                rawMaterial.getVersion(), StockMovementReason.ADJUSTMENT);
     }
 }
@@ -0,0 +1,109 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Recomputes producible quantities over an immutable stock snapshot. In parallel
+ * mode the price-ordered product ranks are split into ranges on a dedicated
+ * ForkJoinPool; each range writes its own slice of the result, so partitions are
+ * merged without any shared mutable state.
+ */
+@Component
+@Slf4j
+public class SimulationEngine {
+
+    private static final int MIN_PARTITION_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    public SimulationEngine(InventoryProperties properties) {
+        InventoryProperties.Simulation config = properties.getSimulation();
+        int parallelism = config.getParallelism() > 0
+                ? config.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.parallelThreshold = config.getParallelThreshold();
+        log.info("Motor de simulacao iniciado com paralelismo {} e limiar de {} produtos",
+                parallelism, parallelThreshold);
+    }
+
+    /**
+     * Producible quantity of every product, indexed by price rank
+     * ({@link BomIndex#productByPrice(int)}). Returns whether the parallel path was used.
+     */
+    public boolean computeByPriceRank(BomIndex index, int[] stock, boolean parallel, int[] quantities) {
+        int productCount = index.productCount();
+        if (!parallel || productCount < parallelThreshold) {
+            computeRange(index, stock, quantities, 0, productCount);
+            return false;
+        }
+        int partitionSize = Math.max(MIN_PARTITION_SIZE, productCount / (pool.getParallelism() * 4));
+        pool.invoke(new RangeTask(index, stock, quantities, 0, productCount, partitionSize));
+        return true;
+    }
+
+    /**
+     * Applies {@code task} to every item on the simulation pool, preserving order.
+     * Used to evaluate independent what-if scenarios side by side.
+     */
+    public <T, R> List<R> mapParallel(List<T> items, Function<T, R> task) {
+        if (items.size() < 2) {
+            return items.stream().map(task).toList();
+        }
+        return pool.submit(() -> items.parallelStream().map(task).toList()).join();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static void computeRange(BomIndex index, int[] stock, int[] quantities, int from, int to) {
+        for (int rank = from; rank < to; rank++) {
+            quantities[rank] = index.maxProducible(index.productByPrice(rank), stock);
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private final BomIndex index;
+        private final int[] stock;
+        private final int[] quantities;
+        private final int from;
+        private final int to;
+        private final int partitionSize;
+
+        RangeTask(BomIndex index, int[] stock, int[] quantities, int from, int to, int partitionSize) {
+            this.index = index;
+            this.stock = stock;
+            this.quantities = quantities;
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= partitionSize) {
+                computeRange(index, stock, quantities, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(index, stock, quantities, from, middle, partitionSize),
+                    new RangeTask(index, stock, quantities, middle, to, partitionSize));
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductTargetDTO;
+import com.inventory.dto.SimulationJobDTO;
+import com.inventory.dto.SimulationJobRequestDTO;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+
+/**
+ * Runs simulations, plan optimizations and procurement recommendations in the
+ * background, for catalogs where they take too long to hold a request open.
+ * Jobs run on {@code inventory.jobs.workers} threads with at most
+ * {@code queue-capacity} waiting; a submission beyond that is refused with 429.
+ * A submission equal to a queued or running job gets that job instead of a new
+ * one, as long as the catalog has not changed since that job was submitted. Finished jobs and their results are kept for {@code result-ttl-ms}.
+ */
+@Service
+@Slf4j
+public class SimulationJobService {
+
+    private static final long REAPER_INTERVAL_MS = 60_000;
+
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final SimulationJobType type;
+        private final String key;
+        private final Function<DoubleConsumer, Object> work;
+        private final long timeBudgetMs;
+        private final Instant submittedAt = Instant.now();
+
+        private volatile SimulationJobStatus status = SimulationJobStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Instant expiresAt;
+        private volatile String error;
+        private volatile Object result;
+
+        // Fraction reported by the work itself, -1 while it reports none
+        private volatile double reportedProgress = -1;
+
+        Job(SimulationJobType type, String key, Function<DoubleConsumer, Object> work, long timeBudgetMs) {
+            this.type = type;
+            this.key = key;
+            this.work = work;
+            this.timeBudgetMs = timeBudgetMs;
+        }
+    }
+
+    private final ProductionSimulationService productionSimulationService;
+    private final ProductionPlanService productionPlanService;
+    private final ProcurementService procurementService;
+    private final CatalogVersion catalogVersion;
+    private final InventoryProperties properties;
+    private final InventoryProperties.Jobs config;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    // Queued and running jobs by request key
+    private final Map<String, Job> inFlight = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService reaper;
+
+    public SimulationJobService(ProductionSimulationService productionSimulationService,
+                                ProductionPlanService productionPlanService,
+                                ProcurementService procurementService,
+                                CatalogVersion catalogVersion,
+                                InventoryProperties properties) {
+        this.productionSimulationService = productionSimulationService;
+        this.productionPlanService = productionPlanService;
+        this.procurementService = procurementService;
+        this.catalogVersion = catalogVersion;
+        this.properties = properties;
+        this.config = properties.getJobs();
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        // The bounded queue is the admission limit: execute() throws once it is full
+        workers = new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "simulation-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-job-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.min(REAPER_INTERVAL_MS, config.getResultTtlMs());
+        reaper.scheduleWithFixedDelay(this::expire, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        reaper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public SimulationJobDTO submit(SimulationJobRequestDTO request) {
+        SimulationJobType type = SimulationJobType.parse(request.getType());
+        // Taken before the work reads the catalog: a job started on older data is never handed out as newer
+        String version = catalogVersion.currentTag();
+        Job job;
+        if (type == SimulationJobType.SIMULATION) {
+            // Defaults resolved first, so requests that only differ by them share a job
+            Integer limit = request.getLimit();
+            int offset = request.getOffset() != null ? request.getOffset() : 0;
+            SimulationMode mode = SimulationMode.parse(StringUtils.hasText(request.getMode())
+                    ? request.getMode() : properties.getSimulation().getMode());
+            Instant asOf = request.getAsOf();
+            job = new Job(type, type + ":" + version + ":" + limit + ":" + offset + ":" + mode + ":" + asOf,
+                    progress -> productionSimulationService.simulate(limit, offset, mode, asOf).getResults(), 0);
+        } else if (type == SimulationJobType.PLAN) {
+            long budget = productionPlanService.resolveTimeBudget(request.getTimeBudgetMs());
+            job = new Job(type, type + ":" + version + ":" + budget, progress -> productionPlanService.optimizePlan(budget), budget);
+        } else {
+            long budget = procurementService.resolveTimeBudget(request.getTimeBudgetMs());
+            List<ProductTargetDTO> targets = request.getTargets();
+            if (targets == null || targets.isEmpty()) {
+                throw new BadRequestException("Informe ao menos uma meta de producao");
+            }
+            job = new Job(type, type + ":" + version + ":" + budget + ":" + targetsKey(targets),
+                    progress -> procurementService.recommend(targets, budget, progress), budget);
+        }
+
+        Job running = inFlight.putIfAbsent(job.key, job);
+        if (running != null) {
+            log.debug("Job {} reaproveitado para requisicao identica ({})", running.id, job.key);
+            return toDTO(running);
+        }
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            // Kept as failed: an identical submission may already have been handed this job
+            finish(job, SimulationJobStatus.FAILED, "Job recusado: fila cheia");
+            throw new TooManyRequestsException(String.format(
+                    "Fila de jobs cheia (%d em espera). Tente novamente mais tarde.", config.getQueueCapacity()),
+                    retryAfterSeconds());
+        }
+        log.info("Job {} ({}) enfileirado: {}", job.id, type, job.key);
+        return toDTO(job);
+    }
+
+    public SimulationJobDTO get(String id) {
+        Job job = jobs.get(id);
+        if (job == null || isExpired(job, Instant.now())) {
+            throw new ResourceNotFoundException("Job", "id", id);
+        }
+        return toDTO(job);
+    }
+
+    private void run(Job job) {
+        job.startedAt = Instant.now();
+        job.status = SimulationJobStatus.RUNNING;
+        try {
+            job.result = job.work.apply(progress -> job.reportedProgress = progress);
+            finish(job, SimulationJobStatus.SUCCEEDED, null);
+        } catch (BadRequestException | ResourceNotFoundException e) {
+            finish(job, SimulationJobStatus.FAILED, e.getMessage());
+        } catch (Exception e) {
+            log.error("Falha no job {} ({})", job.id, job.key, e);
+            finish(job, SimulationJobStatus.FAILED, "Erro interno ao executar o job");
+        }
+        log.info("Job {} ({}) concluido com status {} em {} ms", job.id, job.type, job.status,
+                job.finishedAt.toEpochMilli() - job.startedAt.toEpochMilli());
+    }
+
+    // Status goes last, so a reader that sees it finished also sees the result
+    private void finish(Job job, SimulationJobStatus status, String error) {
+        job.error = error;
+        job.finishedAt = Instant.now();
+        job.expiresAt = job.finishedAt.plusMillis(config.getResultTtlMs());
+        job.status = status;
+        inFlight.remove(job.key, job);
+    }
+
+    private void expire() {
+        Instant now = Instant.now();
+        int before = jobs.size();
+        jobs.values().removeIf(job -> isExpired(job, now));
+        if (jobs.size() < before) {
+            log.debug("{} job(s) expirado(s) removido(s)", before - jobs.size());
+        }
+    }
+
+    private static boolean isExpired(Job job, Instant now) {
+        return job.expiresAt != null && now.isAfter(job.expiresAt);
+    }
+
+    // A worker frees up at the latest after one default plan budget
+    private long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(properties.getPlan().getTimeBudgetMs()));
+    }
+
+    private static double progress(Job job) {
+        switch (job.status) {
+            case QUEUED:
+                return 0;
+            case RUNNING:
+                if (job.reportedProgress >= 0) {
+                    return Math.min(0.99, job.reportedProgress);
+                }
+                // The plan solver stops at its time budget; a simulation has no intermediate steps
+                if (job.timeBudgetMs == 0) {
+                    return 0;
+                }
+                double elapsed = Instant.now().toEpochMilli() - job.startedAt.toEpochMilli();
+                return Math.min(0.99, elapsed / job.timeBudgetMs);
+            default:
+                return 1;
+        }
+    }
+
+    // Targets in request order, so only identical lists share a job
+    private static String targetsKey(List<ProductTargetDTO> targets) {
+        StringBuilder key = new StringBuilder(targets.size() * 12);
+        for (ProductTargetDTO target : targets) {
+            key.append(target.getProductId()).append('x').append(target.getQuantity()).append(',');
+        }
+        return key.toString();
+    }
+
+    private static SimulationJobDTO toDTO(Job job) {
+        return SimulationJobDTO.builder()
+                .id(job.id)
+                .type(job.type)
+                .status(job.status)
+                .progress(progress(job))
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .expiresAt(job.expiresAt)
+                .error(job.error)
+                .result(job.result)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.inventory.service;
+
+public enum SimulationJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
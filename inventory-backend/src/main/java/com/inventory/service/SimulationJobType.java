@@ -0,0 +1,27 @@
+package com.inventory.service;
+
+import com.inventory.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum SimulationJobType {
+
+    // ProductionSimulationService.simulate
+    SIMULATION,
+
+    // ProductionPlanService.optimizePlan
+    PLAN,
+
+    // ProcurementService.recommend
+    PROCUREMENT;
+
+    public static SimulationJobType parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("Tipo de job invalido: '%s'. Valores aceitos: %s",
+                    value, Arrays.toString(values())));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventory.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phase timers of the simulation ({@code inventory.simulation.phase}):
+ * {@code load} and {@code index} when the BOM index is rebuilt from the
+ * repositories, {@code compute} for the producible quantities and {@code sort}
+ * for the walk of the price order that produces the page. Serialization of the
+ * response is timed per body type by the JSON converter. Timers are registered
+ * once, so recording allocates nothing.
+ */
+@Component
+public class SimulationMetrics {
+
+    private final Timer load;
+    private final Timer index;
+    private final Timer compute;
+    private final Timer sort;
+
+    public SimulationMetrics(MeterRegistry registry) {
+        this.load = phase(registry, "load");
+        this.index = phase(registry, "index");
+        this.compute = phase(registry, "compute");
+        this.sort = phase(registry, "sort");
+    }
+
+    public void load(long nanos) {
+        load.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void index(long nanos) {
+        index.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void compute(long nanos) {
+        compute.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void sort(long nanos) {
+        sort.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer phase(MeterRegistry registry, String phase) {
+        return Timer.builder("inventory.simulation.phase")
+                .description("Time spent in each phase of the production simulation")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+}
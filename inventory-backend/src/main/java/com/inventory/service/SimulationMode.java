@@ -0,0 +1,25 @@
+package com.inventory.service;
+
+import com.inventory.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum SimulationMode {
+
+    // Read of the state maintained by BomIndexService
+    MATERIALIZED,
+
+    // Full recomputation over an immutable stock snapshot
+    SEQUENTIAL,
+    PARALLEL;
+
+    public static SimulationMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("Modo de simulacao invalido: '%s'. Valores aceitos: %s",
+                    value, Arrays.toString(values())));
+        }
+    }
+}
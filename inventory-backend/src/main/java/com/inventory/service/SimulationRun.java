@@ -0,0 +1,18 @@
+package com.inventory.service;
+
+import com.inventory.dto.ProductionSimulationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SimulationRun {
+
+    private final List<ProductionSimulationDTO> results;
+
+    // Mode that actually ran: PARALLEL falls back to SEQUENTIAL below the size threshold
+    private final SimulationMode mode;
+    private final long computeNanos;
+}
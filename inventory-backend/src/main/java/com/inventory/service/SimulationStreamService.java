@@ -0,0 +1,238 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.ProductionSimulationDTO;
+import com.inventory.dto.SimulationDeltaDTO;
+import com.inventory.event.CatalogChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the production simulation to SSE subscribers: a snapshot on connect,
+ * then deltas after catalog changes. Changes within
+ * {@code inventory.stream.coalesce-window-ms} of the first one are merged into
+ * one delta. Subscribers are async requests, so they hold no thread; a single
+ * stream thread computes each delta once, serializes it once and queues it for
+ * every subscriber. Each subscriber has its own queue of at most
+ * {@code max-pending-messages}, written out by a sender task of its own, so a
+ * slow client only delays itself; one whose queue overflows is disconnected and
+ * gets a new snapshot when it reconnects. Snapshots are queued from the stream
+ * thread too, so a subscriber never sees a delta older than its snapshot. Once
+ * the last subscriber leaves, the stream forgets its state and stops diffing.
+ */
+@Service
+@Slf4j
+public class SimulationStreamService {
+
+    private final ProductionSimulationService productionSimulationService;
+    private final ObjectMapper objectMapper;
+    private final InventoryProperties.Stream config;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Producible products by id as of the last message, only touched by the stream thread;
+    // null while nobody is subscribed
+    private Map<Long, ProductionSimulationDTO> lastSent;
+
+    private ScheduledExecutorService streamThread;
+    private ExecutorService senders;
+
+    /**
+     * One connection and the messages queued for it. At most one sender task
+     * drains the queue at a time, so messages keep their order.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    public SimulationStreamService(ProductionSimulationService productionSimulationService,
+                                   ObjectMapper objectMapper, InventoryProperties properties) {
+        this.productionSimulationService = productionSimulationService;
+        this.objectMapper = objectMapper;
+        this.config = properties.getStream();
+    }
+
+    @PostConstruct
+    public void start() {
+        streamThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        streamThread.scheduleWithFixedDelay(this::heartbeat, config.getHeartbeatIntervalMs(),
+                config.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+        // A sender blocks while its client's socket is full, so each busy subscriber gets its own thread
+        senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        streamThread.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(config.getTimeoutMs());
+        Subscriber subscriber = new Subscriber(emitter, config.getMaxPendingMessages());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        streamThread.execute(() -> {
+            if (lastSent == null) {
+                lastSent = currentState();
+            }
+            try {
+                String payload = objectMapper.writeValueAsString(lastSent.values());
+                subscribers.add(subscriber);
+                enqueue(subscriber, SseEmitter.event().name("snapshot").id(String.valueOf(sequence.get()))
+                        .data(payload, MediaType.APPLICATION_JSON).build());
+            } catch (JsonProcessingException e) {
+                subscribers.remove(subscriber);
+                emitter.completeWithError(e);
+            }
+        });
+        log.debug("Novo assinante da simulacao, {} ativos", subscribers.size() + 1);
+        return emitter;
+    }
+
+    // Every kind of catalog change can move producible quantities or values
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            streamThread.schedule(this::flush, config.getCoalesceWindowMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        if (subscribers.isEmpty()) {
+            // Nobody listening; the next subscriber starts from the current state
+            lastSent = null;
+            return;
+        }
+        try {
+            Map<Long, ProductionSimulationDTO> current = currentState();
+            List<ProductionSimulationDTO> changed = new ArrayList<>();
+            for (ProductionSimulationDTO product : current.values()) {
+                ProductionSimulationDTO previous = lastSent.get(product.getProductId());
+                if (previous == null || !previous.getQuantityPossible().equals(product.getQuantityPossible())
+                        || !Objects.equals(previous.getTotalValue(), product.getTotalValue())) {
+                    changed.add(product);
+                }
+            }
+            List<Long> removed = new ArrayList<>();
+            for (Long productId : lastSent.keySet()) {
+                if (!current.containsKey(productId)) {
+                    removed.add(productId);
+                }
+            }
+            lastSent = current;
+            if (changed.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+            String payload = objectMapper.writeValueAsString(new SimulationDeltaDTO(changed, removed));
+            broadcast(SseEmitter.event().name("delta").id(String.valueOf(sequence.incrementAndGet()))
+                    .data(payload, MediaType.APPLICATION_JSON));
+            log.debug("Delta da simulacao enviado a {} assinantes: {} alterados, {} removidos",
+                    subscribers.size(), changed.size(), removed.size());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Falha ao calcular o delta da simulacao", e);
+        }
+    }
+
+    private void heartbeat() {
+        if (subscribers.isEmpty()) {
+            lastSent = null;
+        } else {
+            broadcast(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        // Built once: the builder appends the terminating newline on every build
+        Set<ResponseBodyEmitter.DataWithMediaType> message = event.build();
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, message);
+        }
+    }
+
+    // Stream thread only: never writes to a client, so a slow one cannot hold up the others
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> message) {
+        if (!subscriber.pending.offer(message)) {
+            subscribers.remove(subscriber);
+            subscriber.pending.clear();
+            log.warn("Assinante da simulacao desconectado: {} mensagens pendentes", config.getMaxPendingMessages());
+            // Completing waits for a send in progress, so it runs on a sender thread
+            senders.execute(subscriber.emitter::complete);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<ResponseBodyEmitter.DataWithMediaType> message;
+            while ((message = subscriber.pending.poll()) != null) {
+                try {
+                    subscriber.emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // Disconnected client; the container reports it through onError as well
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // A message queued between the last poll and the reset would otherwise wait for the next one
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private Map<Long, ProductionSimulationDTO> currentState() {
+        Map<Long, ProductionSimulationDTO> state = new LinkedHashMap<>();
+        for (ProductionSimulationDTO product : productionSimulationService.simulateProduction()) {
+            state.put(product.getProductId(), product);
+        }
+        return state;
+    }
+}
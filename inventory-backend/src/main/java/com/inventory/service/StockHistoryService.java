@@ -0,0 +1,192 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.dto.StockHistoryDTO;
+import com.inventory.dto.StockHistoryPointDTO;
+import com.inventory.exception.BadRequestException;
+import com.inventory.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time stock and stock history, read from the stock movement journal.
+ * Only stock is historical: the catalog and recipes are always the current ones.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockHistoryService {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(1);
+    private static final Duration DEFAULT_BUCKET = Duration.ofHours(1);
+
+    private final StockMovementJournal journal;
+    private final BomIndexService bomIndexService;
+    private final InventoryProperties properties;
+
+    /**
+     * Stock levels at {@code asOf} indexed by material ordinal. Materials the
+     * journal never saw change keep their current level.
+     */
+    public int[] stockAt(BomIndex index, Instant asOf) {
+        requireJournal();
+        Map<Long, Integer> recorded = journal.stockAt(asOf.toEpochMilli());
+        int[] stock = index.stockSnapshot();
+        for (int m = 0; m < stock.length; m++) {
+            Integer level = recorded.get(index.materialId(m));
+            if (level != null) {
+                stock[m] = level;
+            }
+        }
+        return stock;
+    }
+
+    /**
+     * Stock of one material between {@code from} and {@code to}, downsampled to
+     * one point per {@code bucket}.
+     *
+     * @param bucket duration such as {@code 15m}, {@code 1h} or {@code PT1H}
+     */
+    public StockHistoryDTO history(Long rawMaterialId, Instant from, Instant to, String bucket) {
+        requireJournal();
+        BomIndex index = bomIndexService.getIndex();
+        Integer m = index.materialOrdinal(rawMaterialId);
+        if (m == null) {
+            throw new ResourceNotFoundException("RawMaterial", "id", rawMaterialId);
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        Duration width = parseBucket(bucket);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("O parametro from deve ser anterior a to");
+        }
+        long startMillis = start.toEpochMilli();
+        long widthMillis = width.toMillis();
+        long rangeMillis = end.toEpochMilli() - startMillis;
+        long bucketCount = (rangeMillis + widthMillis - 1) / widthMillis;
+        int maxBuckets = properties.getJournal().getMaxHistoryBuckets();
+        if (bucketCount > maxBuckets) {
+            throw new BadRequestException(String.format(
+                    "O intervalo pedido gera %d buckets, o maximo e %d", bucketCount, maxBuckets));
+        }
+
+        StockSnapshot.Entry initial = journal.stateAt(startMillis).get(rawMaterialId);
+        Buckets buckets = new Buckets(startMillis, widthMillis, (int) bucketCount,
+                initial != null ? initial.getStock() : index.stock(m),
+                initial != null ? initial.getVersion() : Long.MIN_VALUE);
+        journal.movements(rawMaterialId, startMillis, end.toEpochMilli(), buckets::add);
+
+        return StockHistoryDTO.builder()
+                .rawMaterialId(rawMaterialId)
+                .rawMaterialName(index.materialName(m))
+                .from(start)
+                .to(end)
+                .bucketSeconds(width.toSeconds())
+                .points(buckets.finish())
+                .build();
+    }
+
+    /**
+     * Folds movements, in timestamp order, into consecutive buckets of equal
+     * width. A movement older (by version) than the level already reached is
+     * counted but does not move the level.
+     */
+    private static final class Buckets {
+
+        private final long startMillis;
+        private final long widthMillis;
+        private final int count;
+        private final List<StockHistoryPointDTO> points;
+
+        private int level;
+        private long levelVersion;
+        private int open;
+        private int min;
+        private int max;
+        private long added;
+        private long consumed;
+        private int movements;
+
+        Buckets(long startMillis, long widthMillis, int count, int level, long levelVersion) {
+            this.startMillis = startMillis;
+            this.widthMillis = widthMillis;
+            this.count = count;
+            this.points = new ArrayList<>(count);
+            this.level = level;
+            this.levelVersion = levelVersion;
+            open = min = max = level;
+        }
+
+        // Buckets are (start, end]: a movement at a bucket's end belongs to it
+        void add(StockJournal.Record record) {
+            long bucket = (record.getTimestampMillis() - startMillis - 1) / widthMillis;
+            while (points.size() < bucket) {
+                close();
+            }
+            if (record.getVersion() > levelVersion) {
+                level = record.getStockAfter();
+                levelVersion = record.getVersion();
+                min = Math.min(min, level);
+                max = Math.max(max, level);
+            }
+            if (record.getDelta() > 0) {
+                added += record.getDelta();
+            } else {
+                consumed -= record.getDelta();
+            }
+            movements++;
+        }
+
+        List<StockHistoryPointDTO> finish() {
+            while (points.size() < count) {
+                close();
+            }
+            return points;
+        }
+
+        private void close() {
+            points.add(StockHistoryPointDTO.builder()
+                    .start(Instant.ofEpochMilli(startMillis + points.size() * widthMillis))
+                    .open(open)
+                    .close(level)
+                    .min(min)
+                    .max(max)
+                    .added(added)
+                    .consumed(consumed)
+                    .movements(movements)
+                    .build());
+            open = min = max = level;
+            added = 0;
+            consumed = 0;
+            movements = 0;
+        }
+    }
+
+    private Duration parseBucket(String bucket) {
+        if (bucket == null || bucket.isBlank()) {
+            return DEFAULT_BUCKET;
+        }
+        Duration width;
+        try {
+            width = DurationStyle.detectAndParse(bucket);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Parametro bucket invalido: " + bucket);
+        }
+        if (width.toMillis() <= 0) {
+            throw new BadRequestException("O parametro bucket deve ser positivo");
+        }
+        return width;
+    }
+
+    private void requireJournal() {
+        if (!journal.isEnabled()) {
+            throw new BadRequestException("Historico de estoque indisponivel: journal desabilitado");
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.inventory.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of fixed-width stock movement records in memory-mapped
+ * segment files. Every record has a global offset (its position in the log);
+ * a segment is named after the offset of its first record and holds
+ * {@code segmentRecords} records, after which the log rolls over to a new
+ * segment. Each segment starts with a header holding the epoch of the database
+ * it describes; segments of another epoch are deleted on open, since their
+ * records refer to rows and versions that no longer exist. Sealed segments are
+ * mapped once and stay mapped for replays until {@link #deleteBefore(long)}
+ * removes them. Appends are plain memory writes into the page cache, so they
+ * survive a process crash; {@link #sync()} forces them to the device. Each
+ * record ends with a commit marker written last, so the unwritten tail of a
+ * segment (zeros) and a record torn by a crash are both recognized as the end
+ * of the log.
+ * Writers and segment changes are serialized by a {@link ReentrantLock} rather
+ * than a monitor, so a virtual thread forcing a segment does not pin its carrier.
+ */
+public class StockJournal implements AutoCloseable {
+
+    static final int RECORD_SIZE = 40;
+
+    // Magic number (also the record format) and epoch, padded to one record
+    private static final int HEADER_SIZE = RECORD_SIZE;
+    private static final int MAGIC = 0x534A4E32;
+    private static final int MARKER_POSITION = RECORD_SIZE - 1;
+    private static final byte COMMITTED = 1;
+    private static final String SUFFIX = ".seg";
+
+    /**
+     * One applied stock change. The version orders the records of a material;
+     * the timestamp is when the record was appended, after its change was applied.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Record {
+        private final long materialId;
+        private final int delta;
+        private final int stockAfter;
+        private final long version;
+        private final long timestampMillis;
+        private final StockMovementReason reason;
+
+        /**
+         * A record to append; the journal stamps it when it is appended.
+         */
+        public Record(long materialId, int delta, int stockAfter, long version, StockMovementReason reason) {
+            this(materialId, delta, stockAfter, version, 0, reason);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long offset, Record record);
+    }
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long epoch;
+    private int discardedSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // First offset of every segment -> its file, and its mapping once mapped; guarded by lock
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final Map<Long, MappedByteBuffer> mappings = new HashMap<>();
+
+    private long segmentStart;
+    private int segmentCapacity;
+    private MappedByteBuffer segment;
+
+    // Offset of the next record; written after the record, so readers only see complete records
+    private volatile long nextOffset;
+    private long syncedOffset;
+
+    // Timestamp of the last appended record; appends never stamp an earlier one
+    private long lastTimestamp;
+
+    public StockJournal(Path directory, int segmentRecords, long epoch) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.epoch = epoch;
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).toList();
+            }
+            for (Path file : files) {
+                if (isOfEpoch(file)) {
+                    segments.put(firstOffset(file), file);
+                } else {
+                    Files.delete(file);
+                    discardedSegments++;
+                }
+            }
+            if (segments.isEmpty()) {
+                openSegment(0);
+            } else {
+                long start = segments.lastKey();
+                segment = map(segments.get(start), FileChannel.MapMode.READ_WRITE);
+                mappings.put(start, segment);
+                segmentStart = start;
+                // Segments keep the size they were created with, even if segmentRecords changed since
+                segmentCapacity = (segment.capacity() - HEADER_SIZE) / RECORD_SIZE;
+                int count = 0;
+                while (count < segmentCapacity
+                        && segment.get(HEADER_SIZE + count * RECORD_SIZE + MARKER_POSITION) == COMMITTED) {
+                    count++;
+                }
+                nextOffset = start + count;
+                syncedOffset = nextOffset;
+                if (count > 0) {
+                    lastTimestamp = segment.getLong(HEADER_SIZE + (count - 1) * RECORD_SIZE + 24);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel abrir o journal de estoque em " + directory, e);
+        }
+    }
+
+    /**
+     * Appends the records stamped with the current time. Stamped under the lock,
+     * timestamps never decrease along the log, even if the clock steps back.
+     *
+     * @return offset of the first appended record
+     */
+    public long append(List<Record> records) {
+        lock.lock();
+        try {
+            long first = nextOffset;
+            long offset = first;
+            lastTimestamp = Math.max(lastTimestamp, System.currentTimeMillis());
+            for (Record record : records) {
+                if (offset - segmentStart == segmentCapacity) {
+                    segment.force();
+                    openSegment(offset);
+                }
+                int position = HEADER_SIZE + (int) (offset - segmentStart) * RECORD_SIZE;
+                segment.putLong(position, record.materialId)
+                        .putInt(position + 8, record.delta)
+                        .putInt(position + 12, record.stockAfter)
+                        .putLong(position + 16, record.version)
+                        .putLong(position + 24, lastTimestamp)
+                        .put(position + 32, (byte) record.reason.ordinal())
+                        .put(position + MARKER_POSITION, COMMITTED);
+                offset++;
+            }
+            nextOffset = offset;
+            return first;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the records appended so far to the device.
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            if (syncedOffset != nextOffset) {
+                segment.force();
+                syncedOffset = nextOffset;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Visits the records from {@code fromOffset} up to the end of the log as of
+     * this call, in offset order. Runs concurrently with appends.
+     *
+     * @return offset after the last visited record
+     */
+    public long replay(long fromOffset, RecordVisitor visitor) {
+        return replay(fromOffset, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Like {@link #replay(long, RecordVisitor)}, stopping before {@code toOffset}.
+     */
+    public long replay(long fromOffset, long toOffset, RecordVisitor visitor) {
+        long end = Math.min(toOffset, nextOffset);
+        long offset = Math.max(fromOffset, firstOffset());
+        StockMovementReason[] reasons = StockMovementReason.values();
+        while (offset < end) {
+            long start;
+            MappedByteBuffer buffer;
+            lock.lock();
+            try {
+                if (offset < segments.firstKey()) {
+                    throw new IllegalStateException("Registros do journal de estoque a partir do offset " + offset
+                            + " ja foram descartados");
+                }
+                start = segments.floorKey(offset);
+                buffer = mappings.get(start);
+                if (buffer == null) {
+                    buffer = map(segments.get(start), FileChannel.MapMode.READ_ONLY);
+                    mappings.put(start, buffer);
+                }
+            } finally {
+                lock.unlock();
+            }
+            long segmentEnd = Math.min(end, start + (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE);
+            for (; offset < segmentEnd; offset++) {
+                int position = HEADER_SIZE + (int) (offset - start) * RECORD_SIZE;
+                visitor.visit(offset, new Record(buffer.getLong(position), buffer.getInt(position + 8),
+                        buffer.getInt(position + 12), buffer.getLong(position + 16), buffer.getLong(position + 24),
+                        reasons[buffer.get(position + 32)]));
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Deletes the sealed segments whose records all come before {@code offset}.
+     * The segment being written is never deleted.
+     *
+     * @return number of segments deleted
+     */
+    public int deleteBefore(long offset) {
+        lock.lock();
+        try {
+            int deleted = 0;
+            Long start = segments.firstKey();
+            Long next = segments.higherKey(start);
+            while (next != null && next <= offset) {
+                try {
+                    Files.delete(segments.remove(start));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Nao foi possivel remover o segmento " + start, e);
+                }
+                mappings.remove(start);
+                deleted++;
+                start = next;
+                next = segments.higherKey(start);
+            }
+            return deleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long firstOffset() {
+        lock.lock();
+        try {
+            return segments.firstKey();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long nextOffset() {
+        return nextOffset;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Segments of another epoch deleted when the journal was opened.
+     */
+    public int discardedSegments() {
+        return discardedSegments;
+    }
+
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            segment.force();
+            syncedOffset = nextOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment(long start) {
+        Path file = directory.resolve(String.format("%020d%s", start, SUFFIX));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(HEADER_SIZE + (long) segmentRecords * RECORD_SIZE);
+            raf.writeInt(MAGIC);
+            raf.writeLong(epoch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel criar o segmento " + file, e);
+        }
+        segments.put(start, file);
+        segment = map(file, FileChannel.MapMode.READ_WRITE);
+        mappings.put(start, segment);
+        segmentStart = start;
+        segmentCapacity = segmentRecords;
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) {
+        OpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new OpenOption[]{StandardOpenOption.READ}
+                : new OpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel mapear o segmento " + file, e);
+        }
+    }
+
+    // Segments written before the header existed, or in an older record format, belong to no epoch
+    private boolean isOfEpoch(Path file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            return raf.length() >= HEADER_SIZE && raf.readInt() == MAGIC && raf.readLong() == epoch;
+        }
+    }
+
+    private static long firstOffset(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,348 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.event.CatalogChangedEvent;
+import com.inventory.exception.ResourceNotFoundException;
+import com.inventory.repository.RawMaterialRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional in-memory owner of raw material stock ({@code inventory.ledger.enabled}).
+ * Each material is one {@link AtomicLong} packing a change version (high 32 bits)
+ * and the stock (low 32 bits), so taking stock is a compare-and-set that can
+ * never go below zero and the flusher reads level and version together. An order
+ * takes all its materials or gives back what it took, without locks. Once taken,
+ * the changes are recorded in the {@link StockMovementJournal} before the order
+ * is acknowledged; each record carries the version its compare-and-set produced,
+ * which orders it against concurrent changes of the same material. A write-behind
+ * thread persists the latest level and version of each changed material to
+ * {@code raw_materials} in one JDBC batch per interval. On startup each material
+ * takes whichever is newer: the persisted row or its newest journal record of the
+ * current database epoch.
+ */
+@Component
+@Slf4j
+public class StockLedger {
+
+    // The row takes the ledger version, so versions stay monotonic if the ledger is switched off. A row
+    // already past it was written through JPA after the level was read; setAfterCommit takes that version
+    // over and marks the material dirty again, so skipping the row here loses nothing.
+    private static final String UPDATE_STOCK =
+            "UPDATE raw_materials SET stock_quantity = ?, version = ? WHERE id = ? AND version < ?";
+
+    // Versions share the counter with the stock, as unsigned 32-bit values
+    private static final long MAX_VERSION = 0xFFFFFFFFL;
+
+    /**
+     * A material did not have enough stock for an order. Nothing was taken.
+     */
+    @Getter
+    public static final class ShortageException extends RuntimeException {
+        private final Long rawMaterialId;
+        private final int required;
+        private final int available;
+
+        ShortageException(Long rawMaterialId, int required, int available) {
+            super("Estoque insuficiente da materia-prima " + rawMaterialId);
+            this.rawMaterialId = rawMaterialId;
+            this.required = required;
+            this.available = available;
+        }
+    }
+
+    private final InventoryProperties.Ledger config;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockMovementJournal journal;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transaction;
+
+    private final ConcurrentHashMap<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService flusher;
+
+    public StockLedger(InventoryProperties properties,
+                       RawMaterialRepository rawMaterialRepository,
+                       JdbcTemplate jdbcTemplate,
+                       ApplicationEventPublisher eventPublisher,
+                       StockMovementJournal journal,
+                       CatalogVersion catalogVersion,
+                       PlatformTransactionManager transactionManager) {
+        this.config = properties.getLedger();
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.journal = journal;
+        this.catalogVersion = catalogVersion;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (!journal.isEnabled()) {
+            throw new IllegalStateException("O ledger de estoque requer inventory.journal.enabled=true");
+        }
+        for (Object[] row : rawMaterialRepository.findAllForIndex()) {
+            counters.put((Long) row[0], new AtomicLong(pack(versionOf((Long) row[0], row[3]),
+                    row[2] != null ? (Integer) row[2] : 0)));
+        }
+
+        // Changes acknowledged but not flushed before a crash are newer in the journal than in the table.
+        // The journal only holds records of this database's epoch, so their versions compare with the rows.
+        Map<Long, StockSnapshot.Entry> latest = journal.latestByMaterial();
+        int replayed = 0;
+        for (Map.Entry<Long, StockSnapshot.Entry> entry : latest.entrySet()) {
+            AtomicLong counter = counters.get(entry.getKey());
+            StockSnapshot.Entry recorded = entry.getValue();
+            if (counter != null && recorded.getVersion() > Integer.toUnsignedLong(version(counter.get()))) {
+                counter.set(pack(ledgerVersion(entry.getKey(), recorded.getVersion()), recorded.getStock()));
+                dirty.add(entry.getKey());
+                replayed++;
+            }
+        }
+        flush();
+        log.info("Ledger de estoque iniciado: {} materias-primas, {} recuperadas do journal",
+                counters.size(), replayed);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, config.getFlushIntervalMs(), config.getFlushIntervalMs(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * Takes every requirement (material id -> quantity) or none of them.
+     *
+     * @return stock left of each material, by material id
+     * @throws ShortageException when a material does not have enough stock
+     */
+    public Map<Long, Integer> consume(SortedMap<Long, Integer> requirements) {
+        Map<Long, Integer> remaining = new LinkedHashMap<>();
+        journal.record(take(requirements, remaining));
+        syncIfConfigured();
+        dirty.addAll(requirements.keySet());
+        // The database and its events only catch up at the next flush
+        catalogVersion.stockChanged();
+        return remaining;
+    }
+
+    /**
+     * Takes over a write of the material's row made through JPA, such as a
+     * rename or a stock change by the raw material update endpoint, once the
+     * current transaction commits (right away outside one). The counter moves
+     * past the version the write gave the row, so the ledger stays the single
+     * source of versions and its next flush is newer than the row.
+     *
+     * @param rowVersion version of the row after the write
+     * @param quantity   stock the write set, or {@code null} when it kept the stock
+     */
+    public void setAfterCommit(Long rawMaterialId, long rowVersion, Integer quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            set(rawMaterialId, rowVersion, quantity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                set(rawMaterialId, rowVersion, quantity);
+            }
+        });
+    }
+
+    /**
+     * Current stock indexed by the material ordinals of the index. Materials the
+     * ledger has not loaded yet keep the level of the index.
+     */
+    public int[] stockSnapshot(BomIndex index) {
+        int[] stock = index.stockSnapshot();
+        for (int m = 0; m < stock.length; m++) {
+            AtomicLong counter = counters.get(index.materialId(m));
+            if (counter != null) {
+                stock[m] = stock(counter.get());
+            }
+        }
+        return stock;
+    }
+
+    // Compare-and-set only; the records it returns are appended once all materials are taken
+    private List<StockJournal.Record> take(SortedMap<Long, Integer> requirements, Map<Long, Integer> remaining) {
+        Map<Long, Long> taken = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> requirement : requirements.entrySet()) {
+            Long materialId = requirement.getKey();
+            AtomicLong counter = counter(materialId);
+            int quantity = requirement.getValue();
+            long current = counter.get();
+            while (stock(current) >= quantity && !counter.compareAndSet(current,
+                    pack(nextVersion(materialId, current), stock(current) - quantity))) {
+                current = counter.get();
+            }
+            if (stock(current) < quantity) {
+                taken.forEach((takenId, after) -> giveBack(takenId, requirements.get(takenId)));
+                throw new ShortageException(materialId, quantity, stock(current));
+            }
+            taken.put(materialId, pack(nextVersion(materialId, current), stock(current) - quantity));
+        }
+
+        List<StockJournal.Record> records = new ArrayList<>(taken.size());
+        taken.forEach((materialId, after) -> {
+            records.add(new StockJournal.Record(materialId, -requirements.get(materialId), stock(after),
+                    Integer.toUnsignedLong(version(after)), StockMovementReason.PRODUCTION));
+            remaining.put(materialId, stock(after));
+        });
+        return records;
+    }
+
+    private void set(Long rawMaterialId, long rowVersion, Integer quantity) {
+        AtomicLong counter = counter(rawMaterialId);
+        long before;
+        long after;
+        do {
+            before = counter.get();
+            long version = Math.max(Integer.toUnsignedLong(version(before)), rowVersion) + 1;
+            after = pack(ledgerVersion(rawMaterialId, version), quantity != null ? quantity : stock(before));
+        } while (!counter.compareAndSet(before, after));
+        if (stock(after) != stock(before)) {
+            journal.record(List.of(new StockJournal.Record(rawMaterialId, stock(after) - stock(before), stock(after),
+                    Integer.toUnsignedLong(version(after)), StockMovementReason.ADJUSTMENT)));
+            syncIfConfigured();
+        }
+        dirty.add(rawMaterialId);
+    }
+
+    private void giveBack(Long rawMaterialId, int quantity) {
+        counters.get(rawMaterialId).getAndUpdate(
+                current -> pack(nextVersion(rawMaterialId, current), stock(current) + quantity));
+        // A flush may have seen the taken level, so the restored one has to be persisted too
+        dirty.add(rawMaterialId);
+    }
+
+    private void syncIfConfigured() {
+        if (config.isSyncOnCommit()) {
+            journal.sync();
+        }
+    }
+
+    private AtomicLong counter(Long rawMaterialId) {
+        AtomicLong counter = counters.get(rawMaterialId);
+        if (counter != null) {
+            return counter;
+        }
+        // Created after startup; loaded outside computeIfAbsent to keep the query off the map's bin lock
+        List<Object[]> levels = rawMaterialRepository.findStockLevels(List.of(rawMaterialId));
+        if (levels.isEmpty()) {
+            throw new ResourceNotFoundException("RawMaterial", "id", rawMaterialId);
+        }
+        AtomicLong loaded = new AtomicLong(pack(versionOf(rawMaterialId, levels.get(0)[3]),
+                (Integer) levels.get(0)[2]));
+        AtomicLong existing = counters.putIfAbsent(rawMaterialId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+                Long materialId = it.next();
+                it.remove();
+                long current = counters.get(materialId).get();
+                long version = Integer.toUnsignedLong(version(current));
+                batch.add(new Object[]{stock(current), version, materialId, version});
+                ids.add(materialId);
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            transaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_STOCK, batch);
+                // Published with the new row versions so the BOM index takes these levels
+                Map<Long, Integer> stockQuantities = new HashMap<>();
+                Map<Long, Long> stockVersions = new HashMap<>();
+                for (Object[] row : rawMaterialRepository.findStockLevels(ids)) {
+                    stockQuantities.put((Long) row[0], (Integer) row[2]);
+                    stockVersions.put((Long) row[0], (Long) row[3]);
+                }
+                eventPublisher.publishEvent(CatalogChangedEvent.stock(stockQuantities, stockVersions));
+            });
+            log.debug("Ledger de estoque persistido: {} materias-primas", ids.size());
+        } catch (RuntimeException e) {
+            dirty.addAll(ids);
+            log.error("Falha ao persistir o ledger de estoque; nova tentativa no proximo ciclo", e);
+        }
+    }
+
+    private static int versionOf(Long rawMaterialId, Object rowVersion) {
+        return rowVersion != null ? ledgerVersion(rawMaterialId, (Long) rowVersion) : 0;
+    }
+
+    private static int nextVersion(Long rawMaterialId, long packed) {
+        return ledgerVersion(rawMaterialId, Integer.toUnsignedLong(version(packed)) + 1);
+    }
+
+    // Fails rather than wrapping around, which would make newer changes look older than the row
+    private static int ledgerVersion(Long rawMaterialId, long version) {
+        if (version < 0 || version > MAX_VERSION) {
+            throw new IllegalStateException(String.format(
+                    "Versao %d da materia-prima %d excede o limite do ledger de estoque", version, rawMaterialId));
+        }
+        return (int) version;
+    }
+
+    private static long pack(int version, int stock) {
+        return ((long) version << 32) | (stock & 0xFFFFFFFFL);
+    }
+
+    private static int version(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int stock(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,402 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * History of every stock change ({@code inventory.journal.enabled}), kept in a
+ * {@link StockJournal} under {@code inventory.journal.directory} and forced to
+ * disk every {@code sync-interval-ms}. Writers that change stock in the database
+ * record after their transaction commits; the stock ledger records before it
+ * acknowledges a change. Writers append without coordinating with each other,
+ * so the records of a material may reach the log out of order. Every record
+ * carries the version its change gave the material (the row's, or the
+ * ledger's), and the state of a material is its record with the highest version.
+ * <p>
+ * The journal outlives the process, but an in-memory database does not. The
+ * database keeps an epoch in {@code journal_epoch}, created with it, and only
+ * segments and snapshots of that epoch are used; the rest are deleted on start.
+ * <p>
+ * The sync thread also folds new records into the current state of each
+ * material and writes it as a {@link StockSnapshot} every
+ * {@code snapshot-interval-records}. A point-in-time query loads the newest
+ * snapshot taken before the requested instant and replays at most the records
+ * up to the following snapshot, instead of the whole log. Only the newest
+ * {@code retained-snapshots} are kept, and the segments before the oldest of
+ * them are deleted, so history starts at that snapshot and the journal's disk
+ * use stays bounded.
+ */
+@Component
+@Slf4j
+public class StockMovementJournal {
+
+    private static final String SELECT_EPOCH = "SELECT epoch FROM journal_epoch WHERE id = 1";
+    private static final String INSERT_EPOCH = "INSERT INTO journal_epoch (id, epoch) VALUES (1, ?)";
+
+    private final InventoryProperties.Journal config;
+    private final JdbcTemplate jdbcTemplate;
+
+    private StockJournal journal;
+    private ScheduledExecutorService syncer;
+
+    // State folded from records [0, foldedOffset), guarded by catchUpLock. Not a monitor:
+    // snapshot writes are file I/O and would pin a virtual thread's carrier.
+    private final ReentrantLock catchUpLock = new ReentrantLock();
+
+    // Held by queries while they replay, and exclusively while old snapshots and segments are deleted
+    private final ReentrantReadWriteLock retention = new ReentrantReadWriteLock();
+    private final Map<Long, StockSnapshot.Entry> current = new ConcurrentHashMap<>();
+    private long foldedOffset;
+    private long foldedTimestamp;
+    private long lastSnapshotOffset;
+
+    // Snapshot headers (no entries) in offset order, and the last one loaded in full
+    private final List<StockSnapshot> snapshots = new CopyOnWriteArrayList<>();
+    private volatile StockSnapshot loadedSnapshot;
+
+    public StockMovementJournal(InventoryProperties properties, JdbcTemplate jdbcTemplate) {
+        this.config = properties.getJournal();
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        journal = new StockJournal(Path.of(config.getDirectory()), config.getSegmentRecords(), databaseEpoch());
+        if (journal.discardedSegments() > 0) {
+            log.warn("{} segmento(s) do journal de estoque descartado(s): de outra instancia do banco ou formato antigo",
+                    journal.discardedSegments());
+        }
+        loadSnapshots();
+        catchUp();
+        prune();
+        syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::sync, config.getSyncIntervalMs(), config.getSyncIntervalMs(),
+                TimeUnit.MILLISECONDS);
+        log.info("Journal de estoque aberto em {}: {} segmento(s), offsets {} a {}, {} snapshot(s)",
+                config.getDirectory(), journal.segmentCount(), journal.firstOffset(), journal.nextOffset(),
+                snapshots.size());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (syncer == null) {
+            return;
+        }
+        syncer.shutdown();
+        syncer.awaitTermination(10, TimeUnit.SECONDS);
+        journal.close();
+    }
+
+    /**
+     * Records right away, for writers outside the database such as the stock
+     * ledger. The change must already be applied.
+     */
+    public void record(List<StockJournal.Record> records) {
+        if (journal != null && !records.isEmpty()) {
+            journal.append(records);
+        }
+    }
+
+    /**
+     * Records once the current transaction commits, or right away outside one.
+     * The records carry the versions the transaction gave the rows, which order
+     * them against those of other writers whatever order they are appended in.
+     */
+    public void recordAfterCommit(List<StockJournal.Record> records) {
+        if (journal == null || records.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            journal.append(records);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                journal.append(records);
+            }
+        });
+    }
+
+    public void sync() {
+        if (journal != null) {
+            journal.sync();
+            catchUp();
+        }
+    }
+
+    /**
+     * @see StockJournal#replay(long, StockJournal.RecordVisitor)
+     */
+    public long replay(long fromOffset, StockJournal.RecordVisitor visitor) {
+        requireEnabled();
+        return journal.replay(fromOffset, visitor);
+    }
+
+    /**
+     * Current level and version of every recorded material.
+     */
+    public Map<Long, StockSnapshot.Entry> latestByMaterial() {
+        requireEnabled();
+        catchUp();
+        return new HashMap<>(current);
+    }
+
+    /**
+     * Stock of every recorded material at {@code timestampMillis}: the level
+     * after its last change at or before that instant, or the level before its
+     * first change when all its changes are later. Materials without records are
+     * absent; their stock never changed while the journal was on.
+     */
+    public Map<Long, Integer> stockAt(long timestampMillis) {
+        Map<Long, Integer> stock = new HashMap<>();
+        stateAt(timestampMillis).forEach((materialId, then) -> stock.put(materialId, then.getStock()));
+        return stock;
+    }
+
+    /**
+     * Like {@link #stockAt(long)}, with the version of each level. A material
+     * whose changes are all later has a version below the first of them.
+     */
+    public Map<Long, StockSnapshot.Entry> stateAt(long timestampMillis) {
+        requireEnabled();
+        catchUp();
+        Map<Long, StockSnapshot.Entry> state;
+        retention.readLock().lock();
+        try {
+            StockSnapshot base = retainedSnapshotBefore(timestampMillis);
+            state = base != null ? new HashMap<>(load(base).getEntries()) : new HashMap<>();
+            journal.replay(base != null ? base.getOffset() : 0, replayEnd(timestampMillis), (offset, record) -> {
+                if (record.getTimestampMillis() <= timestampMillis) {
+                    fold(state, record);
+                }
+            });
+        } finally {
+            retention.readLock().unlock();
+        }
+        Map<Long, StockSnapshot.Entry> then = new HashMap<>(current.size() * 2);
+        current.forEach((materialId, latest) -> then.put(materialId, state.containsKey(materialId)
+                ? state.get(materialId)
+                : new StockSnapshot.Entry(latest.getLevelBeforeFirst(), latest.getFirstVersion() - 1,
+                        latest.getLevelBeforeFirst(), latest.getFirstVersion())));
+        return then;
+    }
+
+    /**
+     * Visits the records of one material with a timestamp in
+     * {@code (fromMillis, toMillis]} as they are read, in timestamp order; their
+     * versions give the order they were applied in. Only the records between the
+     * snapshots around the interval are read, and none are held in memory.
+     */
+    public void movements(long materialId, long fromMillis, long toMillis, Consumer<StockJournal.Record> visitor) {
+        requireEnabled();
+        catchUp();
+        retention.readLock().lock();
+        try {
+            StockSnapshot base = retainedSnapshotBefore(fromMillis);
+            journal.replay(base != null ? base.getOffset() : 0, replayEnd(toMillis), (offset, record) -> {
+                if (record.getMaterialId() == materialId && record.getTimestampMillis() > fromMillis
+                        && record.getTimestampMillis() <= toMillis) {
+                    visitor.accept(record);
+                }
+            });
+        } finally {
+            retention.readLock().unlock();
+        }
+    }
+
+    // Folds the records appended since the last call, writing snapshots on the way
+    private void catchUp() {
+        catchUpLock.lock();
+        try {
+            int written = snapshots.size();
+            foldedOffset = journal.replay(foldedOffset, (offset, record) -> {
+                fold(current, record);
+                foldedTimestamp = Math.max(foldedTimestamp, record.getTimestampMillis());
+                if (offset + 1 - lastSnapshotOffset >= config.getSnapshotIntervalRecords()) {
+                    writeSnapshot(offset + 1);
+                }
+            });
+            if (snapshots.size() > written) {
+                prune();
+            }
+        } finally {
+            catchUpLock.unlock();
+        }
+    }
+
+    // Deletes the snapshots past the newest retained-snapshots, then the segments the oldest kept one covers
+    private void prune() {
+        int excess = snapshots.size() - Math.max(1, config.getRetainedSnapshots());
+        if (excess <= 0) {
+            return;
+        }
+        retention.writeLock().lock();
+        try {
+            List<StockSnapshot> expired = new ArrayList<>(snapshots.subList(0, excess));
+            snapshots.removeAll(expired);
+            for (StockSnapshot snapshot : expired) {
+                Files.deleteIfExists(StockSnapshot.file(Path.of(config.getDirectory()), snapshot.getOffset()));
+            }
+            int segments = journal.deleteBefore(snapshots.get(0).getOffset());
+            log.info("Historico de estoque compactado: {} snapshot(s) e {} segmento(s) removidos, inicio em {}",
+                    expired.size(), segments, Instant.ofEpochMilli(snapshots.get(0).getTimestampMillis()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel remover snapshots em " + config.getDirectory(), e);
+        } finally {
+            retention.writeLock().unlock();
+        }
+    }
+
+    private void writeSnapshot(long offset) {
+        StockSnapshot snapshot = new StockSnapshot(journal.epoch(), offset, foldedTimestamp, new HashMap<>(current));
+        snapshot.write(Path.of(config.getDirectory()));
+        snapshots.add(new StockSnapshot(journal.epoch(), offset, foldedTimestamp, Map.of()));
+        loadedSnapshot = snapshot;
+        lastSnapshotOffset = offset;
+        log.debug("Snapshot de estoque gravado no offset {} com {} materias-primas", offset, current.size());
+    }
+
+    // Resumes folding from the newest snapshot the log still covers
+    private void loadSnapshots() {
+        List<StockSnapshot> headers = new ArrayList<>();
+        try (var listing = Files.list(Path.of(config.getDirectory()))) {
+            for (Path file : listing.filter(StockSnapshot::isSnapshot).toList()) {
+                if (StockSnapshot.isOfEpoch(file, journal.epoch())) {
+                    headers.add(StockSnapshot.read(file, false));
+                } else {
+                    Files.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel listar os snapshots em " + config.getDirectory(), e);
+        }
+        headers.removeIf(header -> header.getOffset() > journal.nextOffset());
+        headers.sort(Comparator.comparingLong(StockSnapshot::getOffset));
+        snapshots.addAll(headers);
+        if (!headers.isEmpty()) {
+            StockSnapshot newest = load(headers.get(headers.size() - 1));
+            current.putAll(newest.getEntries());
+            foldedOffset = newest.getOffset();
+            foldedTimestamp = newest.getTimestampMillis();
+            lastSnapshotOffset = newest.getOffset();
+        }
+    }
+
+    // Without a snapshot to start from, the query needs the log from its first record
+    private StockSnapshot retainedSnapshotBefore(long timestampMillis) {
+        StockSnapshot base = snapshotBefore(timestampMillis);
+        if (base == null && journal.firstOffset() > 0) {
+            throw new BadRequestException(snapshots.isEmpty()
+                    ? "Historico de estoque indisponivel para o instante pedido"
+                    : "Historico de estoque disponivel a partir de "
+                            + Instant.ofEpochMilli(snapshots.get(0).getTimestampMillis()));
+        }
+        return base;
+    }
+
+    // Records are stamped on append, so timestamps never decrease along the log and across snapshots
+    private StockSnapshot snapshotBefore(long timestampMillis) {
+        StockSnapshot base = null;
+        for (StockSnapshot snapshot : snapshots) {
+            if (snapshot.getTimestampMillis() > timestampMillis) {
+                break;
+            }
+            base = snapshot;
+        }
+        return base;
+    }
+
+    // Records past the first snapshot that already holds a later record are all later too
+    private long replayEnd(long timestampMillis) {
+        for (StockSnapshot snapshot : snapshots) {
+            if (snapshot.getTimestampMillis() > timestampMillis) {
+                return snapshot.getOffset();
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private StockSnapshot load(StockSnapshot header) {
+        StockSnapshot loaded = loadedSnapshot;
+        if (loaded == null || loaded.getOffset() != header.getOffset()) {
+            loaded = StockSnapshot.read(StockSnapshot.file(Path.of(config.getDirectory()), header.getOffset()), true);
+            loadedSnapshot = loaded;
+        }
+        return loaded;
+    }
+
+    // Records of a material may be appended out of order, so versions decide which is newest and oldest
+    private static void fold(Map<Long, StockSnapshot.Entry> state, StockJournal.Record record) {
+        StockSnapshot.Entry known = state.get(record.getMaterialId());
+        int levelBefore = record.getStockAfter() - record.getDelta();
+        if (known == null) {
+            state.put(record.getMaterialId(), new StockSnapshot.Entry(record.getStockAfter(), record.getVersion(),
+                    levelBefore, record.getVersion()));
+            return;
+        }
+        boolean newest = record.getVersion() > known.getVersion();
+        boolean oldest = record.getVersion() < known.getFirstVersion();
+        if (newest || oldest) {
+            state.put(record.getMaterialId(), new StockSnapshot.Entry(
+                    newest ? record.getStockAfter() : known.getStock(),
+                    newest ? record.getVersion() : known.getVersion(),
+                    oldest ? levelBefore : known.getLevelBeforeFirst(),
+                    oldest ? record.getVersion() : known.getFirstVersion()));
+        }
+    }
+
+    // The epoch is created with the database: a new one for each in-memory database
+    private long databaseEpoch() {
+        List<Long> epochs = jdbcTemplate.queryForList(SELECT_EPOCH, Long.class);
+        if (!epochs.isEmpty()) {
+            return epochs.get(0);
+        }
+        long epoch = System.currentTimeMillis();
+        jdbcTemplate.update(INSERT_EPOCH, epoch);
+        return epoch;
+    }
+
+    private void requireEnabled() {
+        if (journal == null) {
+            throw new IllegalStateException("Journal de estoque desabilitado (inventory.journal.enabled)");
+        }
+    }
+}
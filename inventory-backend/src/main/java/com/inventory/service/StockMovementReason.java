@@ -0,0 +1,10 @@
+package com.inventory.service;
+
+public enum StockMovementReason {
+
+    // Consumption by a production order
+    PRODUCTION,
+
+    // Absolute stock set through the raw material endpoints
+    ADJUSTMENT
+}
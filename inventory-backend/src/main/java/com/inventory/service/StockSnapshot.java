@@ -0,0 +1,124 @@
+package com.inventory.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compacted stock state of every recorded material as of a journal offset:
+ * the result of replaying records {@code 0 .. offset - 1}. Point-in-time queries
+ * start from the closest snapshot and replay only the records after it. Like
+ * journal segments, a snapshot carries the epoch of the database it describes.
+ */
+@Getter
+@AllArgsConstructor
+public final class StockSnapshot {
+
+    static final String SUFFIX = ".snap";
+
+    private static final int MAGIC = 0x534A5333;
+
+    /**
+     * Level and version after the material's newest record (highest version),
+     * plus its level before its oldest record (what it had when the journal
+     * started seeing it) and that record's version.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Entry {
+        private final int stock;
+        private final long version;
+        private final int levelBeforeFirst;
+        private final long firstVersion;
+    }
+
+    private final long epoch;
+    private final long offset;
+
+    // Newest record timestamp among the records covered
+    private final long timestampMillis;
+
+    private final Map<Long, Entry> entries;
+
+    public void write(Path directory) {
+        Path file = file(directory, offset);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeLong(epoch);
+            out.writeLong(offset);
+            out.writeLong(timestampMillis);
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue().stock);
+                out.writeLong(entry.getValue().version);
+                out.writeInt(entry.getValue().levelBeforeFirst);
+                out.writeLong(entry.getValue().firstVersion);
+            }
+            // On the device before the segments it covers can be deleted
+            out.flush();
+            stream.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel gravar o snapshot " + file, e);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel gravar o snapshot " + file, e);
+        }
+    }
+
+    public static StockSnapshot read(Path file, boolean withEntries) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            in.readInt();
+            long epoch = in.readLong();
+            long offset = in.readLong();
+            long timestampMillis = in.readLong();
+            int count = in.readInt();
+            Map<Long, Entry> entries = new HashMap<>(withEntries ? count * 2 : 0);
+            for (int i = 0; withEntries && i < count; i++) {
+                entries.put(in.readLong(), new Entry(in.readInt(), in.readLong(), in.readInt(), in.readLong()));
+            }
+            return new StockSnapshot(epoch, offset, timestampMillis, entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel ler o snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Whether the snapshot was written for {@code epoch}. Snapshots written before
+     * the header existed, or in an older format, belong to no epoch.
+     */
+    static boolean isOfEpoch(Path file, long epoch) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readInt() == MAGIC && in.readLong() == epoch;
+        } catch (EOFException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel ler o snapshot " + file, e);
+        }
+    }
+
+    static Path file(Path directory, long offset) {
+        return directory.resolve(String.format("%020d%s", offset, SUFFIX));
+    }
+
+    static boolean isSnapshot(Path file) {
+        return file.getFileName().toString().endsWith(SUFFIX);
+    }
+}
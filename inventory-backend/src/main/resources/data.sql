@@ -3,15 +3,15 @@
 -- H2 Database compatible
 
 -- Insert RAW MATERIALS
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Concentrado de Cola', 500);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Acucar', 800);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Agua', 5000);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Garrafa PET 500ml', 2000);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Garrafa Vidro 600ml', 1500);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Lata Aluminio 350ml', 3000);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Concentrado de Laranja', 400);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Malte', 600);
-INSERT INTO raw_materials (name, stock_quantity) VALUES ('Lupulo', 200);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Concentrado de Cola', 500, 0.35);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Acucar', 800, 0.12);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Agua', 5000, 0.01);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Garrafa PET 500ml', 2000, 0.25);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Garrafa Vidro 600ml', 1500, 0.60);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Lata Aluminio 350ml', 3000, 0.40);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Concentrado de Laranja', 400, 0.18);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Malte', 600, 0.22);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES ('Lupulo', 200, 0.95);
 
 -- Insert PRODUCTS
 INSERT INTO products (name, price) VALUES ('Refrigerante Cola 350ml', 5.50);
@@ -12,7 +12,9 @@ CREATE TABLE IF NOT EXISTS products (
 CREATE TABLE IF NOT EXISTS raw_materials (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
-    stock_quantity INTEGER NOT NULL DEFAULT 0
+    stock_quantity INTEGER NOT NULL DEFAULT 0,
+    unit_cost DECIMAL(10, 2) NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Create product_raw_materials table (association table)
@@ -25,20 +27,38 @@ CREATE TABLE IF NOT EXISTS product_raw_materials (
     FOREIGN KEY (raw_material_id) REFERENCES raw_materials(id) ON DELETE CASCADE
 );
 
+-- Create product_components table (sub-assemblies: a product used as component of another)
+CREATE TABLE IF NOT EXISTS product_components (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    component_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    FOREIGN KEY (component_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- Create journal_epoch table (identifies this database to the stock journal files, which outlive it)
+CREATE TABLE IF NOT EXISTS journal_epoch (
+    id INT PRIMARY KEY,
+    epoch BIGINT NOT NULL
+);
+
 -- Create indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_product_raw_materials_product_id ON product_raw_materials(product_id);
 CREATE INDEX IF NOT EXISTS idx_product_raw_materials_raw_material_id ON product_raw_materials(raw_material_id);
+CREATE INDEX IF NOT EXISTS idx_product_components_product_id ON product_components(product_id);
+CREATE INDEX IF NOT EXISTS idx_product_components_component_id ON product_components(component_id);
 CREATE INDEX IF NOT EXISTS idx_products_name ON products(name);
 CREATE INDEX IF NOT EXISTS idx_raw_materials_name ON raw_materials(name);
 
 -- Insert sample data for testing
 -- Raw Materials
-INSERT INTO raw_materials (name, stock_quantity) VALUES 
-    ('Iron', 100),
-    ('Plastic', 50),
-    ('Copper', 80),
-    ('Aluminum', 60),
-    ('Glass', 40);
+INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES 
+    ('Iron', 100, 1.20),
+    ('Plastic', 50, 0.80),
+    ('Copper', 80, 4.50),
+    ('Aluminum', 60, 2.30),
+    ('Glass', 40, 1.10);
 
 -- Products
 INSERT INTO products (name, price) VALUES 
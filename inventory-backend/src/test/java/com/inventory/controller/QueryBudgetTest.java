@@ -0,0 +1,124 @@
+package com.inventory.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.config.InventoryProperties;
+import com.inventory.config.QueryCountInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements issued by the catalog list endpoints, counted by
+ * {@link QueryCountInspector}. The catalog has several times more rows than
+ * {@code inventory.query.max-statements-per-request}, so a statement per row
+ * (an N+1 load) cannot stay within the budget. Caches are off, so every request
+ * reaches the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_budget_test;DB_CLOSE_DELAY=-1",
+        "inventory.cache.type=none",
+        "inventory.journal.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int ROWS = 120;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryProperties properties;
+
+    @BeforeAll
+    void seedCatalog() {
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> materials = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Object[]{"Budget product " + i, i + 1});
+            materials.add(new Object[]{"Budget material " + i, 100, 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, price) VALUES (?, ?)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO raw_materials (name, stock_quantity, unit_cost) VALUES (?, ?, ?)",
+                materials);
+        jdbcTemplate.update("INSERT INTO product_raw_materials (product_id, raw_material_id, quantity) "
+                + "SELECT p.id, r.id, 2 FROM products p JOIN raw_materials r "
+                + "ON r.name = REPLACE(p.name, 'product', 'material') WHERE p.name LIKE 'Budget product %'");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/products", "/raw-materials", "/product-raw-materials"})
+    void listStaysWithinBudget(String path) throws Exception {
+        JsonNode body = fetch(get(path));
+
+        assertThat(body.size()).isGreaterThanOrEqualTo(ROWS);
+        assertThat(QueryCountInspector.count()).isLessThanOrEqualTo(budget());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/products", "/raw-materials", "/product-raw-materials"})
+    void everyPageStaysWithinBudget(String path) throws Exception {
+        String cursor = null;
+        int rows = 0;
+        do {
+            MockHttpServletRequestBuilder request = get(path + "/page").param("size", String.valueOf(PAGE_SIZE));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = fetch(request);
+
+            assertThat(QueryCountInspector.count()).isLessThanOrEqualTo(budget());
+            rows += page.get("items").size();
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(rows).isGreaterThanOrEqualTo(ROWS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/products/1", "/raw-materials/1"})
+    void singleItemStaysWithinBudget(String path) throws Exception {
+        fetch(get(path));
+
+        assertThat(QueryCountInspector.count()).isLessThanOrEqualTo(budget());
+    }
+
+    // MockMvc runs the request on this thread, so the inspector's count is the request's
+    private JsonNode fetch(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private int budget() {
+        int budget = properties.getQuery().getMaxStatementsPerRequest();
+        assertThat(budget).isPositive().isLessThan(PAGE_SIZE);
+        return budget;
+    }
+}
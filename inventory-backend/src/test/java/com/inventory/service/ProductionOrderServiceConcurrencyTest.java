@@ -0,0 +1,163 @@
+package com.inventory.service;
+
+import com.inventory.dto.MaterialConsumptionDTO;
+import com.inventory.dto.ProductDTO;
+import com.inventory.dto.ProductRawMaterialDTO;
+import com.inventory.dto.ProductionOrderDTO;
+import com.inventory.dto.ProductionOrderResultDTO;
+import com.inventory.dto.RawMaterialDTO;
+import com.inventory.exception.ConflictException;
+import com.inventory.repository.RawMaterialRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent production orders against stock that only covers some of them,
+ * with the configured lock wait, attempts and backoff: only a shortage may
+ * reject an order, and the orders that fit must commit at a usable rate.
+ * Retry warnings are silenced so a lost collision does not flood the build log.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:production_order_test;DB_CLOSE_DELAY=-1",
+        "logging.level.com.inventory.service.ProductionOrderService=ERROR"
+})
+@ActiveProfiles("test")
+class ProductionOrderServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int WARM_UP_ORDERS = 400;
+    private static final int ORDERS = 600;
+    private static final int ORDER_QUANTITY = 2;
+
+    // Per unit of product; the second material runs out first, after 1602 / (2 * 2) = 400 orders
+    private static final int FIRST_PER_UNIT = 3;
+    private static final int SECOND_PER_UNIT = 2;
+    private static final int FIRST_STOCK = 3000;
+    private static final int SECOND_STOCK = 1602;
+
+    // About 60/s on a single core; orders serialized on lock waits or backoff fall far below
+    private static final double MIN_COMMITS_PER_SECOND = 25;
+
+    @Autowired
+    private ProductionOrderService productionOrderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RawMaterialService rawMaterialService;
+
+    @Autowired
+    private ProductRawMaterialService productRawMaterialService;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private StockMovementJournal stockMovementJournal;
+
+    @Test
+    void concurrentOrdersNeverOversellStock() throws Exception {
+        Long first = createMaterial("Concurrency first", FIRST_STOCK);
+        Long second = createMaterial("Concurrency second", SECOND_STOCK);
+        Long productId = productService.createProduct(ProductDTO.builder()
+                .name("Concurrency product")
+                .price(new BigDecimal("10.00"))
+                .build()).getId();
+        addToRecipe(productId, first, FIRST_PER_UNIT);
+        addToRecipe(productId, second, SECOND_PER_UNIT);
+
+        // Same threads and code path on materials of their own, so the measured run is not paying for JIT
+        Long warmUpMaterial = createMaterial("Concurrency warm-up", WARM_UP_ORDERS * ORDER_QUANTITY);
+        Long warmUpProductId = productService.createProduct(ProductDTO.builder()
+                .name("Concurrency warm-up product")
+                .price(new BigDecimal("10.00"))
+                .build()).getId();
+        addToRecipe(warmUpProductId, warmUpMaterial, 1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        placeOrders(pool, warmUpProductId, WARM_UP_ORDERS, new ConcurrentLinkedQueue<>(), new ConcurrentLinkedQueue<>());
+
+        Queue<ProductionOrderResultDTO> fulfilled = new ConcurrentLinkedQueue<>();
+        Queue<ConflictException> rejected = new ConcurrentLinkedQueue<>();
+        double seconds = placeOrders(pool, productId, ORDERS, fulfilled, rejected);
+        pool.shutdown();
+
+        int expectedOrders = SECOND_STOCK / (SECOND_PER_UNIT * ORDER_QUANTITY);
+        assertThat(fulfilled).hasSize(expectedOrders);
+        assertThat(rejected).hasSize(ORDERS - expectedOrders)
+                .allSatisfy(e -> assertThat(e.getMessage()).startsWith("Estoque insuficiente"));
+
+        int firstLeft = stockOf(first);
+        int secondLeft = stockOf(second);
+        assertThat(firstLeft).isEqualTo(FIRST_STOCK - fulfilled.size() * ORDER_QUANTITY * FIRST_PER_UNIT);
+        assertThat(secondLeft).isEqualTo(SECOND_STOCK - fulfilled.size() * ORDER_QUANTITY * SECOND_PER_UNIT);
+        assertThat(fulfilled).flatExtracting(ProductionOrderResultDTO::getConsumed)
+                .extracting(MaterialConsumptionDTO::getRemainingStock)
+                .allSatisfy(remaining -> assertThat(remaining).isNotNegative());
+
+        assertThat(fulfilled.size() / seconds).as("commits per second").isGreaterThanOrEqualTo(MIN_COMMITS_PER_SECOND);
+
+        // The journal's last record of each material is the level left in the table
+        assertThat(stockMovementJournal.latestByMaterial().get(first).getStock()).isEqualTo(firstLeft);
+        assertThat(stockMovementJournal.latestByMaterial().get(second).getStock()).isEqualTo(secondLeft);
+    }
+
+    // Submits the orders behind a latch and returns the seconds from release to the last order done
+    private double placeOrders(ExecutorService pool, Long productId, int count,
+                               Queue<ProductionOrderResultDTO> fulfilled, Queue<ConflictException> rejected)
+            throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(pool.submit(() -> {
+                start.await();
+                try {
+                    fulfilled.add(productionOrderService.produce(new ProductionOrderDTO(productId, ORDER_QUANTITY)));
+                } catch (ConflictException e) {
+                    rejected.add(e);
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> order : orders) {
+            order.get(60, TimeUnit.SECONDS);
+        }
+        return (System.nanoTime() - started) / 1e9;
+    }
+
+    private Long createMaterial(String name, int stock) {
+        return rawMaterialService.createRawMaterial(RawMaterialDTO.builder()
+                .name(name)
+                .stockQuantity(stock)
+                .build()).getId();
+    }
+
+    private void addToRecipe(Long productId, Long rawMaterialId, int quantity) {
+        productRawMaterialService.createProductRawMaterial(ProductRawMaterialDTO.builder()
+                .productId(productId)
+                .rawMaterialId(rawMaterialId)
+                .quantity(quantity)
+                .build());
+    }
+
+    private int stockOf(Long rawMaterialId) {
+        return rawMaterialRepository.findById(rawMaterialId).orElseThrow().getStockQuantity();
+    }
+}
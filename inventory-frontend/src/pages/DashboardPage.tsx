@@ -1,15 +1,13 @@
 import React, { useState, useEffect } from 'react';
-import { getProducts, getRawMaterials, getProductionSimulation, checkBackendHealth } from '../services/api';
-import { Product } from '../types';
-import { RawMaterial } from '../types';
+import { getDashboardSummary, getProductionSimulation, checkBackendHealth } from '../services/api';
+import { DashboardSummary } from '../types';
 import { ProductionSimulation } from '../types';
 import { Package, Boxes, DollarSign, TrendingUp, Loader2, AlertTriangle, RefreshCw } from 'lucide-react';
 import { toast } from 'sonner';
 
 const DashboardPage: React.FC = () => {
   const [loading, setLoading] = useState(true);
-  const [products, setProducts] = useState<Product[]>([]);
-  const [rawMaterials, setRawMaterials] = useState<RawMaterial[]>([]);
+  const [summary, setSummary] = useState<DashboardSummary | null>(null);
   const [simulation, setSimulation] = useState<ProductionSimulation[]>([]);
   const [backendOnline, setBackendOnline] = useState<boolean | null>(null);
 
@@ -37,13 +35,12 @@ const DashboardPage: React.FC = () => {
         return;
       }
       
-      const [productsData, rawMaterialsData, simulationData] = await Promise.all([
-        getProducts(),
-        getRawMaterials(),
-        getProductionSimulation()
+      // Contagens e totais vêm agregados; da simulação só a prévia de 5 itens
+      const [summaryData, simulationData] = await Promise.all([
+        getDashboardSummary(),
+        getProductionSimulation(5)
       ]);
-      setProducts(productsData);
-      setRawMaterials(rawMaterialsData);
+      setSummary(summaryData);
       setSimulation(simulationData);
       setBackendOnline(true);
     } catch (err: any) {
@@ -66,23 +63,8 @@ const DashboardPage: React.FC = () => {
     }
   };
 
-  // Calculate most expensive product
-  const mostExpensiveProduct = products.reduce((max, product) => {
-    if (!max || Number(product.price) > Number(max.price)) {
-      return product;
-    }
-    return max;
-  }, null as Product | null);
-
-  // Calculate product with highest production capacity
-  const highestCapacityProduct = simulation.length > 0
-    ? simulation.reduce((max, item) => {
-        if (!max || item.quantityPossible > max.quantityPossible) {
-          return item;
-        }
-        return max;
-      }, simulation[0])
-    : null;
+  const mostExpensiveProduct = summary?.mostExpensiveProduct ?? null;
+  const highestCapacityProduct = summary?.highestCapacityProduct ?? null;
 
   if (loading) {
     return (
@@ -128,7 +110,7 @@ const DashboardPage: React.FC = () => {
           <div className="flex items-center justify-between">
             <div>
               <p className="text-sm font-medium text-gray-500">Total de Produtos</p>
-              <p className="text-2xl font-bold text-gray-800 mt-1">{products.length}</p>
+              <p className="text-2xl font-bold text-gray-800 mt-1">{summary?.productCount ?? 0}</p>
             </div>
             <div className="w-12 h-12 bg-[#ecfdf5] rounded-lg flex items-center justify-center">
               <Package className="w-6 h-6 text-[#1a7a4e]" />
@@ -141,7 +123,8 @@ const DashboardPage: React.FC = () => {
           <div className="flex items-center justify-between">
             <div>
               <p className="text-sm font-medium text-gray-500">Total de Matérias-Primas</p>
-              <p className="text-2xl font-bold text-gray-800 mt-1">{rawMaterials.length}</p>
+              <p className="text-2xl font-bold text-gray-800 mt-1">{summary?.rawMaterialCount ?? 0}</p>
+              <p className="text-sm text-gray-500">{summary?.totalStock ?? 0} unidades em estoque</p>
             </div>
             <div className="w-12 h-12 bg-[#fef3c7] rounded-lg flex items-center justify-center">
               <Boxes className="w-6 h-6 text-[#d97706]" />
@@ -190,7 +173,10 @@ const DashboardPage: React.FC = () => {
       <div className="bg-white rounded-xl shadow-sm border border-gray-100 overflow-hidden">
         <div className="px-6 py-4 border-b border-gray-100">
           <h2 className="text-lg font-semibold text-gray-800">Capacidade de Produção</h2>
-          <p className="text-sm text-gray-500 mt-1">Quantidade possível de produção para cada produto</p>
+          <p className="text-sm text-gray-500 mt-1">
+            Quantidade possível de produção para cada produto · Valor total produzível:{' '}
+            <span className="text-[#1a7a4e] font-medium">R$ {Number(summary?.producibleValue ?? 0).toFixed(2)}</span>
+          </p>
         </div>
         <div className="overflow-x-auto">
           <table className="w-full">
@@ -223,6 +209,30 @@ const DashboardPage: React.FC = () => {
           </table>
         </div>
       </div>
+
+      {/* Low Stock */}
+      <div className="bg-white rounded-xl shadow-sm border border-gray-100 overflow-hidden">
+        <div className="px-6 py-4 border-b border-gray-100">
+          <h2 className="text-lg font-semibold text-gray-800">Estoque Baixo</h2>
+          <p className="text-sm text-gray-500 mt-1">
+            {summary?.lowStockCount ?? 0} matéria(s)-prima(s) com menos de {summary?.lowStockThreshold ?? 0} unidades
+          </p>
+        </div>
+        {summary && summary.lowStockMaterials.length > 0 ? (
+          <ul className="divide-y divide-gray-100">
+            {summary.lowStockMaterials.map((material) => (
+              <li key={material.id} className="px-6 py-3 flex items-center justify-between text-sm">
+                <span className="font-medium text-gray-800">{material.name}</span>
+                <span className="inline-flex items-center px-2.5 py-0.5 rounded-full text-xs font-medium bg-[#fef3c7] text-[#92400e]">
+                  {material.stockQuantity} unidades
+                </span>
+              </li>
+            ))}
+          </ul>
+        ) : (
+          <p className="px-6 py-8 text-center text-gray-500 text-sm">Nenhuma matéria-prima com estoque baixo.</p>
+        )}
+      </div>
     </div>
   );
 };
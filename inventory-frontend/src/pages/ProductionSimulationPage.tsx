@@ -1,9 +1,17 @@
 import React, { useState, useEffect } from 'react';
-import { ProductionSimulation } from '../types';
-import { getProductionSimulation, checkBackendHealth } from '../services/api';
+import { ProductionSimulation, SimulationDelta } from '../types';
+import { getProductionSimulation, checkBackendHealth, openProductionSimulationStream } from '../services/api';
 import { RefreshCw, TrendingUp, Loader2, AlertTriangle } from 'lucide-react';
 import { toast } from 'sonner';
 
+// Mesma ordem do backend: preço decrescente, depois id
+const applyDelta = (current: ProductionSimulation[], delta: SimulationDelta): ProductionSimulation[] => {
+  const byId = new Map(current.map((result) => [result.productId, result]));
+  delta.removed.forEach((productId) => byId.delete(productId));
+  delta.changed.forEach((result) => byId.set(result.productId, result));
+  return Array.from(byId.values()).sort((a, b) => b.price - a.price || a.productId - b.productId);
+};
+
 const ProductionSimulationPage: React.FC = () => {
   const [simulationResults, setSimulationResults] = useState<ProductionSimulation[]>([]);
   const [loading, setLoading] = useState(true);
@@ -11,7 +19,19 @@ const ProductionSimulationPage: React.FC = () => {
 
   useEffect(() => {
     checkHealth();
-    loadSimulation();
+    const source = openProductionSimulationStream();
+    source.addEventListener('snapshot', (event) => {
+      setSimulationResults(JSON.parse((event as MessageEvent).data));
+      setBackendOnline(true);
+      setLoading(false);
+    });
+    source.addEventListener('delta', (event) => {
+      const delta: SimulationDelta = JSON.parse((event as MessageEvent).data);
+      setSimulationResults((current) => applyDelta(current, delta));
+    });
+    // O EventSource reconecta sozinho e recebe um novo snapshot
+    source.onerror = () => setLoading(false);
+    return () => source.close();
   }, []);
 
   const checkHealth = async () => {
@@ -118,8 +138,8 @@ const ProductionSimulationPage: React.FC = () => {
                 </tr>
               </thead>
               <tbody className="divide-y divide-gray-100">
-                {simulationResults.map((result, index) => (
-                  <tr key={index} className="hover:bg-gray-50 transition-colors">
+                {simulationResults.map((result) => (
+                  <tr key={result.productId} className="hover:bg-gray-50 transition-colors">
                     <td className="px-6 py-4 whitespace-nowrap text-sm font-medium text-gray-800">{result.productName}</td>
                     <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-600">
                       <span className="inline-flex items-center px-2.5 py-0.5 rounded-full text-xs font-medium bg-[#ecfdf5] text-[#065f46]">
@@ -11,7 +11,7 @@ const RawMaterialsPage: React.FC = () => {
   const [showDeleteModal, setShowDeleteModal] = useState(false);
   const [deleteId, setDeleteId] = useState<number | null>(null);
   const [editingMaterial, setEditingMaterial] = useState<RawMaterial | null>(null);
-  const [formData, setFormData] = useState<RawMaterial>({ name: '', stockQuantity: 0 });
+  const [formData, setFormData] = useState<RawMaterial>({ name: '', stockQuantity: 0, unitCost: 0 });
   const [backendOnline, setBackendOnline] = useState<boolean | null>(null);
 
   useEffect(() => {
@@ -65,7 +65,7 @@ const RawMaterialsPage: React.FC = () => {
       }
       setShowModal(false);
       setEditingMaterial(null);
-      setFormData({ name: '', stockQuantity: 0 });
+      setFormData({ name: '', stockQuantity: 0, unitCost: 0 });
       loadRawMaterials();
     } catch (err: any) {
       console.error('Erro ao salvar matéria-prima:', err);
@@ -108,14 +108,14 @@ const RawMaterialsPage: React.FC = () => {
 
   const openModal = () => {
     setEditingMaterial(null);
-    setFormData({ name: '', stockQuantity: 0 });
+    setFormData({ name: '', stockQuantity: 0, unitCost: 0 });
     setShowModal(true);
   };
 
   const closeModal = () => {
     setShowModal(false);
     setEditingMaterial(null);
-    setFormData({ name: '', stockQuantity: 0 });
+    setFormData({ name: '', stockQuantity: 0, unitCost: 0 });
   };
 
   if (loading) {
@@ -185,6 +185,7 @@ const RawMaterialsPage: React.FC = () => {
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">ID</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Nome</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Estoque</th>
+                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase tracking-wider">Custo Unitário</th>
                   <th className="px-6 py-3 text-right text-xs font-medium text-gray-500 uppercase tracking-wider">Ações</th>
                 </tr>
               </thead>
@@ -196,6 +197,9 @@ const RawMaterialsPage: React.FC = () => {
                     <td className="px-6 py-4 whitespace-nowrap text-sm text-[#1a7a4e] font-medium">
                       {material.stockQuantity} unidades
                     </td>
+                    <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-600">
+                      R$ {Number(material.unitCost ?? 0).toFixed(2)}
+                    </td>
                     <td className="px-6 py-4 whitespace-nowrap text-right text-sm">
                       <button
                         onClick={() => handleEdit(material)}
@@ -252,6 +256,18 @@ const RawMaterialsPage: React.FC = () => {
                     required
                   />
                 </div>
+                <div>
+                  <label className="block text-sm font-medium text-gray-700 mb-1">Custo Unitário (R$)</label>
+                  <input
+                    type="number"
+                    step="0.01"
+                    min="0"
+                    value={formData.unitCost ?? 0}
+                    onChange={(e) => setFormData({ ...formData, unitCost: parseFloat(e.target.value) || 0 })}
+                    className="w-full px-3 py-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-[#1a7a4e] focus:border-transparent outline-none transition-colors"
+                    placeholder="Ex: 1.50"
+                  />
+                </div>
               </div>
               <div className="flex justify-end gap-3 mt-6">
                 <button
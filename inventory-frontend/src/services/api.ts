@@ -1,5 +1,5 @@
 import axios, { AxiosError } from 'axios';
-import { Product, RawMaterial, ProductRawMaterial, ProductionSimulation } from '../types';
+import { Product, RawMaterial, ProductRawMaterial, ProductComponent, ProductionSimulation, DashboardSummary } from '../types';
 
 // Usar variável de ambiente ou fallback para localhost
 // Create React App usa o prefixo REACT_APP_
@@ -108,16 +108,41 @@ export const deleteProductRawMaterial = async (id: number): Promise<void> => {
   await apiClient.delete(`/product-raw-materials/${id}`);
 };
 
+// Product Component (sub-assembly) API
+export const getProductComponents = async (): Promise<ProductComponent[]> => {
+  const response = await apiClient.get('/product-components');
+  return response.data;
+};
+
+export const createProductComponent = async (data: ProductComponent): Promise<ProductComponent> => {
+  const response = await apiClient.post('/product-components', data);
+  return response.data;
+};
+
+export const deleteProductComponent = async (id: number): Promise<void> => {
+  await apiClient.delete(`/product-components/${id}`);
+};
+
 // Production Simulation API
-export const getProductionSimulation = async (): Promise<ProductionSimulation[]> => {
-  const response = await apiClient.get('/production/simulation');
+export const getProductionSimulation = async (limit?: number, offset?: number): Promise<ProductionSimulation[]> => {
+  const response = await apiClient.get('/production/simulation', { params: { limit, offset } });
+  return response.data;
+};
+
+// Stream da simulação (SSE): evento 'snapshot' ao conectar, depois eventos 'delta'
+export const openProductionSimulationStream = (): EventSource =>
+  new EventSource(`${API_BASE_URL}/api/production/simulation/stream`);
+
+// Dashboard API
+export const getDashboardSummary = async (): Promise<DashboardSummary> => {
+  const response = await apiClient.get('/dashboard/summary');
   return response.data;
 };
 
-// Health check
+// Health check: sonda de readiness do actuator, não consulta o banco
 export const checkBackendHealth = async (): Promise<boolean> => {
   try {
-    await apiClient.get('/raw-materials', { timeout: 3000 });
+    await apiClient.get('/actuator/health/readiness', { timeout: 3000 });
     return true;
   } catch {
     return false;
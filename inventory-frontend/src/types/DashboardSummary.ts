@@ -0,0 +1,16 @@
+import { Product } from './Product';
+import { RawMaterial } from './RawMaterial';
+import { ProductionSimulation } from './ProductionSimulation';
+
+// Resposta de /dashboard/summary: agregados mantidos pelo backend, sem varrer o catálogo
+export interface DashboardSummary {
+  productCount: number;
+  rawMaterialCount: number;
+  totalStock: number;
+  producibleValue: number;
+  mostExpensiveProduct: Product | null;
+  highestCapacityProduct: ProductionSimulation | null;
+  lowStockThreshold: number;
+  lowStockCount: number;
+  lowStockMaterials: RawMaterial[];
+}
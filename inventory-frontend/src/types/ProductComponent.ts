@@ -0,0 +1,8 @@
+export interface ProductComponent {
+  id?: number;
+  productId: number;
+  productName?: string;
+  componentId: number;
+  componentName?: string;
+  quantity: number;
+}
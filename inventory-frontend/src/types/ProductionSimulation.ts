@@ -1,5 +1,13 @@
 export interface ProductionSimulation {
+  productId: number;
   productName: string;
+  price: number;
   quantityPossible: number;
   totalValue: number;
 }
+
+// Mensagem 'delta' do stream da simulação: produtos alterados e ids que deixaram de ser produzíveis
+export interface SimulationDelta {
+  changed: ProductionSimulation[];
+  removed: number[];
+}
@@ -2,4 +2,6 @@ export interface RawMaterial {
   id?: number;
   name: string;
   stockQuantity: number;
+  // Custo de compra de uma unidade, usado nas recomendações de compra
+  unitCost?: number;
 }
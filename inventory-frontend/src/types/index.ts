@@ -1,4 +1,6 @@
 export * from './Product';
 export * from './RawMaterial';
 export * from './ProductRawMaterial';
+export * from './ProductComponent';
 export * from './ProductionSimulation';
+export * from './DashboardSummary';